@@ -0,0 +1,121 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Guice;
+import main.java.org.rspeer.scripts.f2ppker.data.Action;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rspeer.game.component.tdi.Skill;
+import org.rspeer.scripts.wintertodt.api.gateway.FakeGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.GatewayModule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the stage each domain event goes through once it is applied on the script thread.
+ * The domain is built headless against a {@link FakeGateway}, the same way the {@link EventReplayer} builds it,
+ * so each benchmark runs exactly what the matching Domain.notify applies, whatever components that involves.
+ * The client's event classes can't be constructed outside of the client, so the apply stage is driven directly.
+ */
+// The domain State class shadows the JMH annotation within this package
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainBenchmark {
+
+  private static final String TARGET = "Zezima";
+
+  private static final String[] MESSAGES = {
+      "You eat the swordfish.",
+      "Zezima is fighting another player.",
+      "Oh dear, you are dead! Zezima died.",
+      "You have been disconnected.",
+      "Welcome to Old School RuneScape."
+  };
+
+  private static final int[] ANIMATIONS = {
+      Action.BOW_ATTACK.getAnimation(),
+      Action.RUNE_2H_ATTACK.getAnimation(),
+      Action.EAT_FOOD.getAnimation()
+  };
+
+  private static final State.BotState[] STATES = {
+      State.BotState.RANGING,
+      State.BotState.EATING,
+      State.BotState.PREPARING_2H,
+      State.BotState.EXECUTING_2H,
+      State.BotState.IDLE
+  };
+
+  private Domain domain;
+
+  private int cursor;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    domain = Guice.createInjector(GatewayModule.fake(new FakeGateway())).getInstance(Domain.class);
+    domain.getJournal().start();
+    // Skill and hitsplat events only reach most components while there is a target
+    domain.getTargets().setTargetName(TARGET);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    domain.getJournal().close();
+  }
+
+  /** TickEvent **/
+  @Benchmark
+  public int tick() {
+    domain.applyTick();
+    return domain.getTimers().now();
+  }
+
+  /** AnimationEvent for the local player, cycling through the bow, 2H and eating animations **/
+  @Benchmark
+  public void animation() {
+    domain.applyAnimation(ANIMATIONS[cursor++ % ANIMATIONS.length]);
+  }
+
+  /** AnimationEvent for another player attacking us **/
+  @Benchmark
+  public void playerAnimation() {
+    domain.applyPlayerAnimation("Woox", Action.BOW_ATTACK.getAnimation());
+  }
+
+  /** ChatMessageEvent **/
+  @Benchmark
+  public void chatMessage() {
+    domain.applyMessage(MESSAGES[cursor++ % MESSAGES.length]);
+  }
+
+  /** SkillEvent for a ranged XP drop while a target is set **/
+  @Benchmark
+  public void skill() {
+    domain.applySkill(Skill.RANGED, 40);
+  }
+
+  /** HitsplatEvent on the current target **/
+  @Benchmark
+  public void hitsplat() {
+    domain.applyHitsplat(TARGET, 10);
+  }
+
+  @Benchmark
+  public boolean actionCooldown() {
+    Timers timers = domain.getTimers();
+    timers.recordAction(Action.BOW_ATTACK);
+    timers.tick();
+    return timers.isActionReady(Action.BOW_ATTACK);
+  }
+
+  @Benchmark
+  public void stateTransition(Blackhole blackhole) {
+    State state = domain.getState();
+    state.setCurrentState(STATES[cursor++ % STATES.length]);
+    domain.getTimers().tick();
+    blackhole.consume(state.getCurrentState());
+  }
+}
@@ -0,0 +1,123 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress tests the snapshot publication, with one thread publishing the way the script thread does
+ * while the others keep reading, as the dispatcher thread and the paint do.
+ * Every published tick sets fields across the timers, state, target and weapon trackers that belong together,
+ * so a reader seeing a mix of two ticks fails the run rather than just skewing the score.
+ */
+// The domain State class shadows the JMH annotation within this package
+@org.openjdk.jmh.annotations.State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+  private static final String[] NAMES = {
+      "Zezima",
+      "Woox",
+      "Lynx Titan",
+      "B0aty",
+      "Framed"
+  };
+
+  /** States without a timeout, so the state only changes when the publisher sets it **/
+  private static final State.BotState[] STATES = {
+      State.BotState.IDLE,
+      State.BotState.RANGING,
+      State.BotState.POSITIONING_FOR_2H,
+      State.BotState.LOOTING
+  };
+
+  private Journal journal;
+  private Timers timers;
+  private TargetTracker targets;
+  private WeaponTracker weapons;
+  private State state;
+  private SnapshotPublisher publisher;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    journal = new Journal();
+    journal.start();
+    timers = new Timers();
+    targets = new TargetTracker(journal);
+    weapons = new WeaponTracker(journal);
+    state = new State(timers, targets, journal);
+    publisher = new SnapshotPublisher(timers, state, targets, weapons);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    journal.close();
+  }
+
+  @org.openjdk.jmh.annotations.State(Scope.Thread)
+  public static class Reader {
+
+    private int lastTick;
+
+    /** The publisher restarts from tick 0 on each iteration **/
+    @Setup(Level.Iteration)
+    public void setup() {
+      lastTick = 0;
+    }
+  }
+
+  /**
+   * A drain applying a tick, followed by a change made by a task outside of the drain
+   */
+  @Benchmark
+  @Group("publish")
+  @GroupThreads(1)
+  public int publish() {
+    publisher.begin();
+    timers.tick();
+    int now = timers.now();
+    weapons.registerBowAttack(now);
+    targets.setTargetName(NAMES[now % NAMES.length]);
+    state.setCurrentState(STATES[now % STATES.length]);
+    publisher.end(true);
+
+    targets.setPendingTargetName(NAMES[now % NAMES.length]);
+    return now;
+  }
+
+  @Benchmark
+  @Group("publish")
+  @GroupThreads(3)
+  public int read(Reader reader) {
+    DomainSnapshot snapshot = publisher.get();
+    int tick = snapshot.getTick();
+    if (tick < reader.lastTick) {
+      throw new IllegalStateException("Tick went back from " + reader.lastTick + " to " + tick);
+    }
+    reader.lastTick = tick;
+
+    // Nothing but the empty snapshot is published before the first tick
+    if (tick == 0) {
+      return tick;
+    }
+
+    if (snapshot.getLastBowAttackTick() != tick
+        || !NAMES[tick % NAMES.length].equals(snapshot.getTargetName())
+        || snapshot.getCurrentState() != STATES[tick % STATES.length]) {
+      throw new IllegalStateException("Torn snapshot at tick " + tick);
+    }
+
+    // The pending target is set after the tick was published, so it is either the previous tick's or this one's
+    String pending = snapshot.getPendingTargetName();
+    if (pending != null
+        && !pending.equals(NAMES[tick % NAMES.length])
+        && !pending.equals(NAMES[(tick - 1) % NAMES.length])) {
+      throw new IllegalStateException("Torn pending target at tick " + tick);
+    }
+    return tick;
+  }
+}
@@ -0,0 +1,23 @@
+package main.java.org.rspeer.scripts.f2ppker.domain.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.rspeer.game.script.meta.ScriptConfig;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+  @Param({"special=true,health=40,minLevel=60,maxLevel=90"})
+  private String args;
+
+  @Benchmark
+  public ScriptConfig ofArgs() {
+    return ConfigBuilder.ofArgs(args).build();
+  }
+}
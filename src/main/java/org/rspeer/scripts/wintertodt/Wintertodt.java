@@ -2,6 +2,7 @@ package org.rspeer.scripts.wintertodt;
 
 import org.rspeer.commons.ArrayUtils;
 import org.rspeer.commons.StopWatch;
+import org.rspeer.commons.logging.Log;
 import org.rspeer.game.Game;
 import org.rspeer.game.component.tdi.Skill;
 import org.rspeer.game.script.Task;
@@ -11,11 +12,15 @@ import org.rspeer.game.script.meta.paint.PaintBinding;
 import org.rspeer.game.script.meta.paint.PaintScheme;
 import org.rspeer.game.script.meta.ui.ScriptOption;
 import org.rspeer.game.script.meta.ui.ScriptUI;
+import org.rspeer.scripts.wintertodt.api.gateway.GatewayStats;
 import org.rspeer.scripts.wintertodt.data.GameWorld;
 import org.rspeer.scripts.wintertodt.data.Gang;
 import org.rspeer.scripts.wintertodt.domain.Domain;
 import org.rspeer.scripts.wintertodt.domain.config.Config;
 import org.rspeer.scripts.wintertodt.domain.config.ConfigBuilder;
+import org.rspeer.scripts.wintertodt.task.ActionQueue;
+import org.rspeer.scripts.wintertodt.task.DomainTask;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 import org.rspeer.scripts.wintertodt.task.UITask;
 import org.rspeer.scripts.wintertodt.task.game.WaitingAreaTask;
 import org.rspeer.scripts.wintertodt.task.game.brazier.*;
@@ -24,6 +29,9 @@ import org.rspeer.scripts.wintertodt.task.game.roots.FletchTask;
 import org.rspeer.scripts.wintertodt.task.generic.*;
 import org.rspeer.scripts.wintertodt.task.prepare.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.function.IntSupplier;
 
 @ScriptMeta(
@@ -53,6 +61,12 @@ public class Wintertodt extends TaskScript {
   @PaintBinding(value = "Failed kills", rate = true)
   private final IntSupplier fails = () -> getDomain().getStatistics().getFails();
 
+  @PaintBinding("Evaluations saved per tick")
+  private final IntSupplier saved = () -> injector.getInstance(TaskDispatcher.class).getSavedLastTick();
+
+  @PaintBinding("Duplicate clicks")
+  private final IntSupplier duplicates = () -> injector.getInstance(ActionQueue.class).getDuplicates();
+
   @PaintBinding("Experience")
   private final Skill[] skills = {
       Skill.FIREMAKING,
@@ -77,17 +91,36 @@ public class Wintertodt extends TaskScript {
 
   @Override
   public void initialize() {
+    getDomain().getJournal().start();
+
+    String recording = System.getProperty("wintertodt.record");
+    if (recording != null) {
+      try {
+        getDomain().startRecording(Files.newOutputStream(Paths.get(recording)));
+      } catch (IOException e) {
+        Log.severe("Unable to record events to " + recording + ": " + e.getMessage());
+      }
+    }
+
     Game.getEventDispatcher().subscribe(getDomain());
   }
 
   @Override
   public void shutdown() {
     Game.getEventDispatcher().unsubscribe(getDomain());
+    try {
+      getDomain().stopRecording();
+    } catch (IOException e) {
+      Log.severe("Unable to finish event recording: " + e.getMessage());
+    }
+    getDomain().getJournal().close();
+    Log.fine("Gateway calls: " + injector.getInstance(GatewayStats.class));
   }
 
   @Override
   public Class<? extends Task>[] tasks() {
     return ArrayUtils.getTypeSafeArray(
+        DomainTask.class,
         UITask.class,
         HopTask.class,
         DialogTask.class,
@@ -10,6 +10,8 @@ import org.rspeer.game.component.tdi.Skills;
 import org.rspeer.game.component.tdi.Prayer;
 import org.rspeer.game.component.tdi.Prayers;
 import org.rspeer.commons.logging.Log;
+import org.rspeer.scripts.f2ppker.data.WeaponClass;
+import org.rspeer.scripts.wintertodt.task.SwitchPipeline;
 
 import static org.rspeer.scripts.f2ppker.Constants.*;
 
@@ -58,6 +60,13 @@ public final class CombatUtils {
         return bow.interact("Wield");
     }
 
+    /**
+     * Equips the bow if needed and attacks the target in the same tick, see {@link SwitchPipeline}
+     */
+    public static boolean equipBow(SwitchPipeline pipeline, Player target) {
+        return pipeline.switchAndAttack(WeaponClass.BOW, target);
+    }
+
     /**
      * Attempts to equip a 2h sword
      */
@@ -76,6 +85,13 @@ public final class CombatUtils {
         return twoHand.interact("Wield");
     }
 
+    /**
+     * Equips the 2h sword if needed and attacks the target in the same tick, see {@link SwitchPipeline}
+     */
+    public static boolean equip2h(SwitchPipeline pipeline, Player target) {
+        return pipeline.switchAndAttack(WeaponClass.TWO_HANDED, target);
+    }
+
     /**
      * Predicts damage based on XP gained
      */
@@ -0,0 +1,107 @@
+package org.rspeer.scripts.wintertodt.api;
+
+import org.rspeer.game.Definitions;
+import org.rspeer.game.adapter.component.inventory.Inventory;
+import org.rspeer.game.adapter.definition.ItemDefinition;
+import org.rspeer.game.component.Item;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifies items by id into {@link ItemCategory} masks.
+ * An id is classified from its definition the first time it is seen, after which checks are a single array lookup.
+ */
+public final class ItemClassifier {
+
+  /** Set on every classified id, so an item without any category isn't classified again **/
+  private static final int CLASSIFIED = 1 << 31;
+
+  private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+  private static int[] masks = new int[1024];
+
+  private ItemClassifier() {
+    throw new IllegalAccessError();
+  }
+
+  /**
+   * @return The mask of the categories the item id belongs to
+   */
+  public static int getMask(int id) {
+    if (id < 0) {
+      return 0;
+    }
+
+    if (id >= masks.length) {
+      masks = Arrays.copyOf(masks, Math.max(id + 1, masks.length * 2));
+    }
+
+    int mask = masks[id];
+    if (mask == 0) {
+      mask = classify(id);
+      masks[id] = mask;
+    }
+    return mask & ~CLASSIFIED;
+  }
+
+  private static int classify(int id) {
+    int mask = CLASSIFIED;
+    ItemDefinition definition = Definitions.getItem(id);
+    if (definition == null || definition.getName() == null) {
+      return mask;
+    }
+
+    for (ItemCategory category : CATEGORIES) {
+      if (category.matches(definition)) {
+        mask |= category.getMask();
+      }
+    }
+    return mask;
+  }
+
+  public static boolean is(Item item, ItemCategory category) {
+    return item != null && category.isIn(getMask(item.getId()));
+  }
+
+  public static boolean contains(Inventory inv, ItemCategory category) {
+    return first(inv, category) != null;
+  }
+
+  /**
+   * @return The first item in the inventory belonging to the category, or null if there is none
+   */
+  public static Item first(Inventory inv, ItemCategory category) {
+    for (Item item : inv.query().results()) {
+      if (is(item, category)) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  public static int count(Inventory inv, ItemCategory category) {
+    int count = 0;
+    for (Item item : inv.query().results()) {
+      if (is(item, category)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return Every item in the inventory belonging to the category, in slot order
+   */
+  public static List<Item> all(Inventory inv, ItemCategory category) {
+    List<Item> items = new ArrayList<>();
+    for (Item item : inv.query().results()) {
+      if (is(item, category)) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+}
@@ -4,11 +4,15 @@ import org.rspeer.game.adapter.component.inventory.Inventory;
 import org.rspeer.game.query.component.ItemQuery;
 import org.rspeer.game.query.results.ItemQueryResults;
 import org.rspeer.scripts.wintertodt.data.Constant;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
 
 import java.util.function.Function;
 
 public final class Items {
 
+  public static final int ROOT_POINTS = 10;
+  public static final int KINDLING_POINTS = 25;
+
   public static final Function<ItemQuery, ItemQueryResults> BURNABLE
       = iq -> iq.names(Constant.KINDLING, Constant.ROOT).results();
 
@@ -23,19 +27,19 @@ public final class Items {
   }
 
   public static int getRootCount(Inventory inv) {
-    return inv.getCount(iq -> iq.names(Constant.ROOT).results());
+    return ItemClassifier.count(inv, ItemCategory.ROOT);
   }
 
   public static int getKindlingCount(Inventory inv) {
-    return inv.getCount(iq -> iq.names(Constant.KINDLING).results());
+    return ItemClassifier.count(inv, ItemCategory.KINDLING);
   }
 
   public static int getStoredRootPoints(Inventory inv) {
-    return getRootCount(inv) * 10;
+    return getRootCount(inv) * ROOT_POINTS;
   }
 
   public static int getStoredKindlingPoints(Inventory inv) {
-    return getKindlingCount(inv) * 25;
+    return getKindlingCount(inv) * KINDLING_POINTS;
   }
 
   public static int getStoredPoints(Inventory inv) {
@@ -1,5 +1,8 @@
 package org.rspeer.scripts.f2ppker.api;
 
+import main.java.org.rspeer.scripts.f2ppker.domain.PlayerIndex;
+import main.java.org.rspeer.scripts.f2ppker.domain.TargetScorer;
+import main.java.org.rspeer.scripts.f2ppker.domain.ThreatTracker;
 import org.rspeer.game.adapter.scene.Player;
 import org.rspeer.game.scene.Players;
 import org.rspeer.commons.logging.Log;
@@ -16,57 +19,35 @@ public final class PlayerUtils {
     }
 
     /**
-     * Find potential PK targets based on configuration
+     * Find the best ranked PK target this tick, see {@link TargetScorer} for how targets are ranked
      */
-    public static Player findPotentialTarget(int minCombatLevel, int maxCombatLevel) {
-        return Players.query()
-                .filter(p -> !p.equals(Players.self()))
-                .filter(p -> p.getCombatLevel() >= minCombatLevel && p.getCombatLevel() <= maxCombatLevel)
-                .filter(p -> p.getTarget() == null) // not targeting others
-                .filter(p -> Players.query().targeting(p).results().isEmpty()) // not being targeted
-                .filter(p -> !SAFE_AREA.contains(p.getPosition())) // not in safe area
-                .filter(p -> !isWearingHeavyArmor(p)) // not wearing heavy armor
-                .results()
-                .first();
+    public static Player findPotentialTarget(TargetScorer scorer) {
+        return scorer.best();
     }
 
     /**
-     * Gets the nearest player who is attacking you
+     * Gets the most dangerous player attacking you, as tracked from their attack animations
      */
-    public static Player getAttacker() {
-        return Players.query()
-                .targeting(Players.self())
-                .filter(p -> ATTACK_ANIMATIONS.contains(p.getAnimationId()))
-                .filter(p -> !SAFE_AREA.contains(p.getPosition()))
-                .results()
-                .nearest();
+    public static Player getAttacker(ThreatTracker threats, PlayerIndex index) {
+        Player attacker = index.get(threats.getMostDangerous());
+        if (attacker == null || SAFE_AREA.contains(attacker.getPosition())) {
+            return null;
+        }
+        return attacker;
     }
 
     /**
      * Gets a player by name
      */
-    public static Player getPlayerByName(String name) {
-        if (name == null) {
-            return null;
-        }
-        return Players.query().names(name).results().first();
+    public static Player getPlayerByName(PlayerIndex index, String name) {
+        return index.get(name);
     }
 
     /**
-     * Checks if a player appears to be wearing heavy armor
+     * Checks if a player appears to be wearing heavy armor, matching each distinct appearance only once
      */
-    public static boolean isWearingHeavyArmor(Player player) {
-        if (player.getAppearance() == null) {
-            return false;
-        }
-
-        for (String keyword : EQUIPMENT_KEYWORDS) {
-            if (player.getAppearance().query().nameContains(keyword).results().size() > 0) {
-                return true;
-            }
-        }
-
-        return false;
+    public static boolean isWearingHeavyArmor(PlayerIndex index, Player player) {
+        return index.isWearingHeavyArmor(player);
     }
 
     /**
@@ -32,6 +32,14 @@ public final class Province {
         .first();
   }
 
+  public static SceneObject findObject(int id, Position position) {
+    return SceneObjects.query()
+        .ids(id)
+        .on(position)
+        .results()
+        .first();
+  }
+
   public static SceneObject findRoots(Position position) {
     return SceneObjects.query()
         .nameContains(Constant.ROOT)
@@ -40,6 +48,20 @@ public final class Province {
         .first();
   }
 
+  public static SceneObject findJewelleryBox() {
+    return SceneObjects.query()
+        .nameContains("Jewellery box")
+        .results()
+        .first();
+  }
+
+  public static SceneObject findRejuvenationPool() {
+    return SceneObjects.query()
+        .nameContains("pool of rejuv")
+        .results()
+        .first();
+  }
+
   /**
    * Note: Npcs are only loaded as far as the minimap distance
    * due to that, this function should only be used to verify that
@@ -1,11 +1,21 @@
 package org.rspeer.scripts.wintertodt.api;
 
 import org.rspeer.game.Vars;
+import org.rspeer.scripts.wintertodt.api.gateway.VarGateway;
 
 public class Warmth {
 
+  private static final int WARMTH_VARBIT = 11434;
+
   public static int getPercent() {
-    int warmth = Vars.get(Vars.Type.VARBIT, 11434);
+    return toPercent(Vars.get(Vars.Type.VARBIT, WARMTH_VARBIT));
+  }
+
+  public static int getPercent(VarGateway vars) {
+    return toPercent(vars.get(Vars.Type.VARBIT, WARMTH_VARBIT));
+  }
+
+  private static int toPercent(int warmth) {
     if (warmth == 0) {
       return 0;
     }
@@ -0,0 +1,28 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.combat.Combat;
+
+@Singleton
+public class ClientCombatGateway implements CombatGateway {
+
+  @Override
+  public boolean isSpecialActive() {
+    return Combat.isSpecialActive();
+  }
+
+  @Override
+  public int getSpecialEnergy() {
+    return Combat.getSpecialEnergy();
+  }
+
+  @Override
+  public boolean isSpecialBarPresent() {
+    return Combat.isSpecialBarPresent();
+  }
+
+  @Override
+  public void toggleSpecial(boolean on) {
+    Combat.toggleSpecial(on);
+  }
+}
@@ -0,0 +1,93 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.ProvidedBy;
+import com.google.inject.Singleton;
+import org.rspeer.scripts.wintertodt.domain.Timers;
+
+/**
+ * Default providers of the gateways, named by {@link ProvidedBy} on each gateway interface.
+ * The client creates the script's injector itself without any of our modules, so this is how the live script
+ * gets its gateways: the client implementation, counted and memoized per tick, and also timed with -Dwintertodt.debug.
+ * The counts end up in the {@link GatewayStats} singleton. A {@link GatewayModule} overrides these bindings.
+ */
+public final class ClientGateways {
+
+  private static final boolean TIMING = Boolean.getBoolean("wintertodt.debug");
+
+  private ClientGateways() {
+    throw new IllegalAccessError();
+  }
+
+  /**
+   * Decorates the gateway once, so the memoized reads and counts are shared by everything it is injected into
+   */
+  private abstract static class Decorated<T> implements Provider<T> {
+
+    private final T gateway;
+
+    private Decorated(Class<T> type, T client, GatewayStats stats, Timers timers) {
+      gateway = GatewayDecorators.stack(type, client, stats, timers::now, true, TIMING, true);
+    }
+
+    @Override
+    public T get() {
+      return gateway;
+    }
+  }
+
+  @Singleton
+  public static class Players extends Decorated<PlayerGateway> {
+
+    @Inject
+    public Players(ClientPlayerGateway client, GatewayStats stats, Timers timers) {
+      super(PlayerGateway.class, client, stats, timers);
+    }
+  }
+
+  @Singleton
+  public static class Scene extends Decorated<SceneGateway> {
+
+    @Inject
+    public Scene(ClientSceneGateway client, GatewayStats stats, Timers timers) {
+      super(SceneGateway.class, client, stats, timers);
+    }
+  }
+
+  @Singleton
+  public static class Inventories extends Decorated<InventoryGateway> {
+
+    @Inject
+    public Inventories(ClientInventoryGateway client, GatewayStats stats, Timers timers) {
+      super(InventoryGateway.class, client, stats, timers);
+    }
+  }
+
+  @Singleton
+  public static class Vars extends Decorated<VarGateway> {
+
+    @Inject
+    public Vars(ClientVarGateway client, GatewayStats stats, Timers timers) {
+      super(VarGateway.class, client, stats, timers);
+    }
+  }
+
+  @Singleton
+  public static class Movement extends Decorated<MovementGateway> {
+
+    @Inject
+    public Movement(ClientMovementGateway client, GatewayStats stats, Timers timers) {
+      super(MovementGateway.class, client, stats, timers);
+    }
+  }
+
+  @Singleton
+  public static class Combat extends Decorated<CombatGateway> {
+
+    @Inject
+    public Combat(ClientCombatGateway client, GatewayStats stats, Timers timers) {
+      super(CombatGateway.class, client, stats, timers);
+    }
+  }
+}
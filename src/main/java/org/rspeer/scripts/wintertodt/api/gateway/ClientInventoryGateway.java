@@ -0,0 +1,48 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.component.inventory.Bank;
+import org.rspeer.game.adapter.component.inventory.Equipment;
+import org.rspeer.game.adapter.component.inventory.Inventory;
+import org.rspeer.game.component.Inventories;
+import org.rspeer.game.component.tdi.Tab;
+import org.rspeer.game.component.tdi.Tabs;
+
+@Singleton
+public class ClientInventoryGateway implements InventoryGateway {
+
+  @Override
+  public Inventory backpack() {
+    return Inventories.backpack();
+  }
+
+  @Override
+  public Equipment equipment() {
+    return Inventories.equipment();
+  }
+
+  @Override
+  public Inventory bank() {
+    return Inventories.bank();
+  }
+
+  @Override
+  public boolean isBackpackOpen() {
+    return Tabs.isOpen(Tab.INVENTORY);
+  }
+
+  @Override
+  public void openBackpack() {
+    Tabs.open(Tab.INVENTORY);
+  }
+
+  @Override
+  public boolean isBankOpen() {
+    return Bank.isOpen();
+  }
+
+  @Override
+  public boolean openBank() {
+    return Bank.open();
+  }
+}
@@ -0,0 +1,34 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.movement.Movement;
+import org.rspeer.game.position.Position;
+
+@Singleton
+public class ClientMovementGateway implements MovementGateway {
+
+  @Override
+  public boolean isRunEnabled() {
+    return Movement.isRunEnabled();
+  }
+
+  @Override
+  public int getRunEnergy() {
+    return Movement.getRunEnergy();
+  }
+
+  @Override
+  public void toggleRun(boolean on) {
+    Movement.toggleRun(on);
+  }
+
+  @Override
+  public void walkTowards(Position position) {
+    Movement.walkTowards(position);
+  }
+
+  @Override
+  public boolean walkTo(Position position) {
+    return Movement.walkTo(position);
+  }
+}
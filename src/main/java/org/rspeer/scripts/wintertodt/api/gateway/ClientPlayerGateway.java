@@ -0,0 +1,38 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.House;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.effect.Health;
+import org.rspeer.game.scene.Players;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Singleton
+public class ClientPlayerGateway implements PlayerGateway {
+
+  @Override
+  public Player self() {
+    return Players.self();
+  }
+
+  @Override
+  public List<Player> all() {
+    List<Player> players = new ArrayList<>();
+    for (Player player : Players.query().results()) {
+      players.add(player);
+    }
+    return players;
+  }
+
+  @Override
+  public boolean isInHouse() {
+    return House.isInside();
+  }
+
+  @Override
+  public int getHealthPercent() {
+    return Health.getPercent();
+  }
+}
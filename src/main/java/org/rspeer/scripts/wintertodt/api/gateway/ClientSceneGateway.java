@@ -0,0 +1,62 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.scene.Npc;
+import org.rspeer.game.adapter.scene.SceneObject;
+import org.rspeer.game.position.Position;
+import org.rspeer.game.scene.Scene;
+import org.rspeer.scripts.wintertodt.api.Province;
+
+@Singleton
+public class ClientSceneGateway implements SceneGateway {
+
+  @Override
+  public SceneObject findDoor() {
+    return Province.findDoor();
+  }
+
+  @Override
+  public SceneObject findBrazier(Position position, String action) {
+    return Province.findBrazier(position, action);
+  }
+
+  @Override
+  public SceneObject findRoots(Position position) {
+    return Province.findRoots(position);
+  }
+
+  @Override
+  public SceneObject findObject(int id, Position position) {
+    return Province.findObject(id, position);
+  }
+
+  @Override
+  public Npc findIncapacitatedPyromancer(Position position) {
+    return Province.findIncapacitatedPyromancer(position);
+  }
+
+  @Override
+  public SceneObject findJewelleryBox() {
+    return Province.findJewelleryBox();
+  }
+
+  @Override
+  public SceneObject findRejuvenationPool() {
+    return Province.findRejuvenationPool();
+  }
+
+  @Override
+  public int[][] getCollisionFlags() {
+    return Scene.getCollisionFlags(Scene.getFloorLevel());
+  }
+
+  @Override
+  public int getBaseX() {
+    return Scene.getBaseX();
+  }
+
+  @Override
+  public int getBaseY() {
+    return Scene.getBaseY();
+  }
+}
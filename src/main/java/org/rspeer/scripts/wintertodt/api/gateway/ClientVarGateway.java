@@ -0,0 +1,13 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+import org.rspeer.game.Vars;
+
+@Singleton
+public class ClientVarGateway implements VarGateway {
+
+  @Override
+  public int get(Vars.Type type, int index) {
+    return Vars.get(type, index);
+  }
+}
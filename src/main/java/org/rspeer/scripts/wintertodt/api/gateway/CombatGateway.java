@@ -0,0 +1,18 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+
+@ProvidedBy(ClientGateways.Combat.class)
+public interface CombatGateway {
+
+  @Memoized
+  boolean isSpecialActive();
+
+  @Memoized
+  int getSpecialEnergy();
+
+  @Memoized
+  boolean isSpecialBarPresent();
+
+  void toggleSpecial(boolean on);
+}
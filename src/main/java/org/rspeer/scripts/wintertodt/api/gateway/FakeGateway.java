@@ -0,0 +1,308 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import org.rspeer.game.Vars;
+import org.rspeer.game.adapter.component.inventory.Equipment;
+import org.rspeer.game.adapter.component.inventory.Inventory;
+import org.rspeer.game.adapter.scene.Npc;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.adapter.scene.SceneObject;
+import org.rspeer.game.position.Position;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory implementation of every gateway for headless runs and benchmarks.
+ * Reads return whatever was last set, and writes are applied to that state rather than the client.
+ */
+public class FakeGateway implements PlayerGateway, SceneGateway, InventoryGateway,
+    VarGateway, MovementGateway, CombatGateway {
+
+  private final Map<Long, Integer> vars = new HashMap<>();
+  private final Map<String, SceneObject> objects = new HashMap<>();
+  private final Map<Position, Npc> pyromancers = new HashMap<>();
+  private final List<Player> players = new ArrayList<>();
+
+  private Player self;
+  private Inventory backpack;
+  private Equipment equipment;
+  private Inventory bank;
+  private SceneObject door;
+  private boolean inHouse;
+  private int healthPercent = 100;
+  private boolean backpackOpen = true;
+  private boolean bankOpen;
+
+  private int[][] collisionFlags;
+  private int baseX;
+  private int baseY;
+
+  private boolean runEnabled;
+  private int runEnergy = 100;
+  private Position destination;
+
+  private boolean specialActive;
+  private int specialEnergy = 100;
+  private boolean specialBarPresent;
+
+  @Override
+  public Player self() {
+    return self;
+  }
+
+  public void setSelf(Player self) {
+    this.self = self;
+  }
+
+  @Override
+  public List<Player> all() {
+    return players;
+  }
+
+  /**
+   * @param players Every player in the scene, ourselves included
+   */
+  public void setPlayers(List<Player> players) {
+    this.players.clear();
+    this.players.addAll(players);
+  }
+
+  @Override
+  public boolean isInHouse() {
+    return inHouse;
+  }
+
+  public void setInHouse(boolean inHouse) {
+    this.inHouse = inHouse;
+  }
+
+  @Override
+  public int getHealthPercent() {
+    return healthPercent;
+  }
+
+  public void setHealthPercent(int healthPercent) {
+    this.healthPercent = healthPercent;
+  }
+
+  @Override
+  public SceneObject findDoor() {
+    return door;
+  }
+
+  public void setDoor(SceneObject door) {
+    this.door = door;
+  }
+
+  @Override
+  public SceneObject findBrazier(Position position, String action) {
+    return objects.get(position + ":" + action);
+  }
+
+  /**
+   * @param brazier The brazier offering the action, or null to remove it
+   */
+  public void setBrazier(Position position, String action, SceneObject brazier) {
+    objects.put(position + ":" + action, brazier);
+  }
+
+  @Override
+  public SceneObject findRoots(Position position) {
+    return objects.get(position + ":Chop");
+  }
+
+  public void setRoots(Position position, SceneObject roots) {
+    objects.put(position + ":Chop", roots);
+  }
+
+  @Override
+  public SceneObject findObject(int id, Position position) {
+    for (SceneObject object : objects.values()) {
+      if (object != null && object.getId() == id && position.equals(object.getPosition())) {
+        return object;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Npc findIncapacitatedPyromancer(Position position) {
+    return pyromancers.get(position);
+  }
+
+  public void setIncapacitatedPyromancer(Position position, Npc pyromancer) {
+    pyromancers.put(position, pyromancer);
+  }
+
+  @Override
+  public SceneObject findJewelleryBox() {
+    return objects.get("Jewellery box");
+  }
+
+  @Override
+  public SceneObject findRejuvenationPool() {
+    return objects.get("Pool of rejuvenation");
+  }
+
+  /**
+   * @param box  The jewellery box in the house, or null if there is none
+   * @param pool The pool of rejuvenation in the house, or null if there is none
+   */
+  public void setHouse(SceneObject box, SceneObject pool) {
+    objects.put("Jewellery box", box);
+    objects.put("Pool of rejuvenation", pool);
+  }
+
+  @Override
+  public int[][] getCollisionFlags() {
+    return collisionFlags;
+  }
+
+  @Override
+  public int getBaseX() {
+    return baseX;
+  }
+
+  @Override
+  public int getBaseY() {
+    return baseY;
+  }
+
+  public void setScene(int baseX, int baseY, int[][] collisionFlags) {
+    this.baseX = baseX;
+    this.baseY = baseY;
+    this.collisionFlags = collisionFlags;
+  }
+
+  @Override
+  public Inventory backpack() {
+    return backpack;
+  }
+
+  public void setBackpack(Inventory backpack) {
+    this.backpack = backpack;
+  }
+
+  @Override
+  public Equipment equipment() {
+    return equipment;
+  }
+
+  public void setEquipment(Equipment equipment) {
+    this.equipment = equipment;
+  }
+
+  @Override
+  public Inventory bank() {
+    return bank;
+  }
+
+  public void setBank(Inventory bank) {
+    this.bank = bank;
+  }
+
+  @Override
+  public boolean isBackpackOpen() {
+    return backpackOpen;
+  }
+
+  @Override
+  public void openBackpack() {
+    backpackOpen = true;
+  }
+
+  @Override
+  public boolean isBankOpen() {
+    return bankOpen;
+  }
+
+  @Override
+  public boolean openBank() {
+    bankOpen = true;
+    return true;
+  }
+
+  public void setBankOpen(boolean bankOpen) {
+    this.bankOpen = bankOpen;
+  }
+
+  @Override
+  public int get(Vars.Type type, int index) {
+    return vars.getOrDefault(key(type, index), 0);
+  }
+
+  public void set(Vars.Type type, int index, int value) {
+    vars.put(key(type, index), value);
+  }
+
+  private static long key(Vars.Type type, int index) {
+    return ((long) type.ordinal() << 32) | (index & 0xFFFFFFFFL);
+  }
+
+  @Override
+  public boolean isRunEnabled() {
+    return runEnabled;
+  }
+
+  @Override
+  public int getRunEnergy() {
+    return runEnergy;
+  }
+
+  public void setRunEnergy(int runEnergy) {
+    this.runEnergy = runEnergy;
+  }
+
+  @Override
+  public void toggleRun(boolean on) {
+    runEnabled = on;
+  }
+
+  @Override
+  public void walkTowards(Position position) {
+    destination = position;
+  }
+
+  @Override
+  public boolean walkTo(Position position) {
+    destination = position;
+    return true;
+  }
+
+  /**
+   * @return The position last walked to, or null if no movement was requested
+   */
+  public Position getDestination() {
+    return destination;
+  }
+
+  @Override
+  public boolean isSpecialActive() {
+    return specialActive;
+  }
+
+  @Override
+  public int getSpecialEnergy() {
+    return specialEnergy;
+  }
+
+  public void setSpecialEnergy(int specialEnergy) {
+    this.specialEnergy = specialEnergy;
+  }
+
+  @Override
+  public boolean isSpecialBarPresent() {
+    return specialBarPresent;
+  }
+
+  public void setSpecialBarPresent(boolean specialBarPresent) {
+    this.specialBarPresent = specialBarPresent;
+  }
+
+  @Override
+  public void toggleSpecial(boolean on) {
+    specialActive = on;
+  }
+}
@@ -0,0 +1,53 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Groups every gateway for code that reads across several of them, such as the task facts
+ */
+@Singleton
+public class GameGateway {
+
+  private final PlayerGateway players;
+  private final SceneGateway scene;
+  private final InventoryGateway inventories;
+  private final VarGateway vars;
+  private final MovementGateway movement;
+  private final CombatGateway combat;
+
+  @Inject
+  public GameGateway(PlayerGateway players, SceneGateway scene, InventoryGateway inventories,
+                     VarGateway vars, MovementGateway movement, CombatGateway combat) {
+    this.players = players;
+    this.scene = scene;
+    this.inventories = inventories;
+    this.vars = vars;
+    this.movement = movement;
+    this.combat = combat;
+  }
+
+  public PlayerGateway players() {
+    return players;
+  }
+
+  public SceneGateway scene() {
+    return scene;
+  }
+
+  public InventoryGateway inventories() {
+    return inventories;
+  }
+
+  public VarGateway vars() {
+    return vars;
+  }
+
+  public MovementGateway movement() {
+    return movement;
+  }
+
+  public CombatGateway combat() {
+    return combat;
+  }
+}
@@ -0,0 +1,154 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Stackable decorators for the gateway interfaces, each wrapping a delegate in a dynamic proxy.
+ * Object methods such as equals and toString are passed straight through.
+ */
+public final class GatewayDecorators {
+
+  private GatewayDecorators() {
+    throw new IllegalAccessError();
+  }
+
+  /**
+   * Stacks the requested decorators as counting, then memoizing, then timing,
+   * so the counts cover every call made by the script while the timings only cover the calls that reach the client
+   *
+   * @param tick Supplies the current game tick to the memoizing decorator
+   */
+  public static <T> T stack(Class<T> type, T gateway, GatewayStats stats, IntSupplier tick,
+                            boolean counting, boolean timing, boolean memoizing) {
+    if (timing) {
+      gateway = timing(type, gateway, stats);
+    }
+
+    if (memoizing) {
+      gateway = memoizing(type, gateway, tick);
+    }
+
+    if (counting) {
+      gateway = counting(type, gateway, stats);
+    }
+    return gateway;
+  }
+
+  /**
+   * Counts every call made to the gateway
+   */
+  public static <T> T counting(Class<T> type, T delegate, GatewayStats stats) {
+    return proxy(type, (proxy, method, args) -> {
+      if (method.getDeclaringClass() != Object.class) {
+        stats.count(method);
+      }
+      return invoke(delegate, method, args);
+    });
+  }
+
+  /**
+   * Records the time spent in every call that reaches the delegate
+   */
+  public static <T> T timing(Class<T> type, T delegate, GatewayStats stats) {
+    return proxy(type, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return invoke(delegate, method, args);
+      }
+
+      long start = System.nanoTime();
+      try {
+        return invoke(delegate, method, args);
+      } finally {
+        stats.time(method, System.nanoTime() - start);
+      }
+    });
+  }
+
+  /**
+   * Reuses the result of {@link Memoized} reads for the rest of the tick they were made in.
+   * Any other call is assumed to change the game state and drops everything cached so far.
+   * Results are kept in a tree with one level per argument, so a cached read allocates no key.
+   *
+   * @param tick Supplies the current game tick
+   */
+  public static <T> T memoizing(Class<T> type, T delegate, IntSupplier tick) {
+    Memo memo = new Memo();
+    return proxy(type, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return invoke(delegate, method, args);
+      }
+
+      synchronized (memo) {
+        int now = tick.getAsInt();
+        if (now != memo.tick) {
+          memo.tick = now;
+          memo.generation++;
+        }
+
+        if (!method.isAnnotationPresent(Memoized.class)) {
+          memo.generation++;
+          return invoke(delegate, method, args);
+        }
+
+        Memo.Node node = memo.root(method);
+        if (args != null) {
+          for (Object arg : args) {
+            node = node.child(arg);
+          }
+        }
+
+        if (node.generation != memo.generation) {
+          node.value = invoke(delegate, method, args);
+          node.generation = memo.generation;
+        }
+        return node.value;
+      }
+    });
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+
+  private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Cached results of a memoizing gateway, a result is only valid for the generation it was read in.
+   * The generation moves on every tick and every write, which invalidates every result without clearing them.
+   */
+  private static class Memo {
+
+    private final Map<Method, Node> roots = new HashMap<>();
+
+    private int tick = Integer.MIN_VALUE;
+    private int generation;
+
+    private Node root(Method method) {
+      return roots.computeIfAbsent(method, x -> new Node());
+    }
+
+    private static class Node {
+
+      private final Map<Object, Node> children = new HashMap<>();
+
+      private int generation = -1;
+      private Object value;
+
+      private Node child(Object arg) {
+        return children.computeIfAbsent(arg, x -> new Node());
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.ProvidedBy;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import org.rspeer.scripts.wintertodt.domain.Timers;
+
+/**
+ * Binds the gateways to either the client or a {@link FakeGateway}, wrapped in the requested decorators.
+ * Without this module the gateways resolve through {@link ProvidedBy} to the {@link ClientGateways} defaults,
+ * which is how the injector the client creates for the script gets them.
+ *
+ * Decorators are stacked as counting, then memoizing, then timing, see {@link GatewayDecorators#stack}.
+ */
+public class GatewayModule extends AbstractModule {
+
+  private static final Class<?>[] GATEWAYS = {
+      PlayerGateway.class,
+      SceneGateway.class,
+      InventoryGateway.class,
+      VarGateway.class,
+      MovementGateway.class,
+      CombatGateway.class
+  };
+
+  /** Client implementation of each of the {@link #GATEWAYS} **/
+  private static final Class<?>[] CLIENTS = {
+      ClientPlayerGateway.class,
+      ClientSceneGateway.class,
+      ClientInventoryGateway.class,
+      ClientVarGateway.class,
+      ClientMovementGateway.class,
+      ClientCombatGateway.class
+  };
+
+  private final FakeGateway fake;
+  private final GatewayStats stats = new GatewayStats();
+
+  private boolean counting;
+  private boolean timing;
+  private boolean memoizing;
+
+  private GatewayModule(FakeGateway fake) {
+    this.fake = fake;
+  }
+
+  public static GatewayModule client() {
+    return new GatewayModule(null);
+  }
+
+  public static GatewayModule fake(FakeGateway fake) {
+    return new GatewayModule(fake);
+  }
+
+  public GatewayModule counting() {
+    counting = true;
+    return this;
+  }
+
+  public GatewayModule timing() {
+    timing = true;
+    return this;
+  }
+
+  /**
+   * Reuses {@link Memoized} reads within a tick, as counted by the domain {@link Timers}
+   */
+  public GatewayModule memoizing() {
+    memoizing = true;
+    return this;
+  }
+
+  public GatewayStats getStats() {
+    return stats;
+  }
+
+  @Override
+  protected void configure() {
+    bind(GatewayStats.class).toInstance(stats);
+    Provider<Timers> timers = getProvider(Timers.class);
+    for (int i = 0; i < GATEWAYS.length; i++) {
+      bindGateway(GATEWAYS[i], CLIENTS[i], timers);
+    }
+  }
+
+  private <T> void bindGateway(Class<T> type, Class<?> client, Provider<Timers> timers) {
+    Provider<? extends T> base;
+    if (fake != null) {
+      T instance = type.cast(fake);
+      base = () -> instance;
+    } else {
+      base = getProvider(client.asSubclass(type));
+    }
+
+    Provider<T> provider = () -> GatewayDecorators.stack(type, base.get(), stats, () -> timers.get().now(),
+        counting, timing, memoizing);
+    bind(type).toProvider(provider).in(Singleton.class);
+  }
+}
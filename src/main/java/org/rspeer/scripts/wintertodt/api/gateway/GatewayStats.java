@@ -0,0 +1,78 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.Singleton;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts and client latency per gateway method, filled in by the counting and timing decorators.
+ * Gateways are also read from the dispatcher thread, so the counters are thread-safe.
+ */
+@Singleton
+public class GatewayStats {
+
+  private final Map<Method, Entry> entries = new ConcurrentHashMap<>();
+
+  void count(Method method) {
+    entry(method).calls.increment();
+  }
+
+  void time(Method method, long nanos) {
+    Entry entry = entry(method);
+    entry.timed.increment();
+    entry.nanos.add(nanos);
+  }
+
+  private Entry entry(Method method) {
+    return entries.computeIfAbsent(method, x -> new Entry());
+  }
+
+  /**
+   * @return The amount of calls made to a gateway method
+   */
+  public long getCalls(Method method) {
+    Entry entry = entries.get(method);
+    return entry != null ? entry.calls.sum() : 0;
+  }
+
+  /**
+   * @return The total time spent in the client for a gateway method, in nanoseconds
+   */
+  public long getNanos(Method method) {
+    Entry entry = entries.get(method);
+    return entry != null ? entry.nanos.sum() : 0;
+  }
+
+  public void reset() {
+    entries.clear();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    entries.forEach((method, entry) -> {
+      long timed = entry.timed.sum();
+      builder.append(method.getDeclaringClass().getSimpleName())
+          .append('.')
+          .append(method.getName())
+          .append(": calls=")
+          .append(entry.calls.sum())
+          .append(", client=")
+          .append(timed);
+      if (timed > 0) {
+        builder.append(", avg=").append(entry.nanos.sum() / timed).append("ns");
+      }
+      builder.append('\n');
+    });
+    return builder.toString();
+  }
+
+  private static class Entry {
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder timed = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+  }
+}
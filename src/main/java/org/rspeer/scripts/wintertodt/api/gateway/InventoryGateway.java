@@ -0,0 +1,31 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+import org.rspeer.game.adapter.component.inventory.Equipment;
+import org.rspeer.game.adapter.component.inventory.Inventory;
+
+@ProvidedBy(ClientGateways.Inventories.class)
+public interface InventoryGateway {
+
+  @Memoized
+  Inventory backpack();
+
+  @Memoized
+  Equipment equipment();
+
+  @Memoized
+  Inventory bank();
+
+  @Memoized
+  boolean isBackpackOpen();
+
+  /**
+   * Opens the inventory tab, so backpack items can be interacted with
+   */
+  void openBackpack();
+
+  @Memoized
+  boolean isBankOpen();
+
+  boolean openBank();
+}
@@ -0,0 +1,15 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a gateway read whose result may be reused for the rest of the tick it was made in.
+ * Any call to a gateway method without this annotation is treated as a write and drops the gateway's cached reads.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Memoized {
+}
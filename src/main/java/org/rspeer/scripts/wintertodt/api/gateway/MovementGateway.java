@@ -0,0 +1,20 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+import org.rspeer.game.position.Position;
+
+@ProvidedBy(ClientGateways.Movement.class)
+public interface MovementGateway {
+
+  @Memoized
+  boolean isRunEnabled();
+
+  @Memoized
+  int getRunEnergy();
+
+  void toggleRun(boolean on);
+
+  void walkTowards(Position position);
+
+  boolean walkTo(Position position);
+}
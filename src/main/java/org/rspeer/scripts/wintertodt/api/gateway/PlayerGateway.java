@@ -0,0 +1,25 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+import org.rspeer.game.adapter.scene.Player;
+
+import java.util.List;
+
+@ProvidedBy(ClientGateways.Players.class)
+public interface PlayerGateway {
+
+  @Memoized
+  Player self();
+
+  /**
+   * @return Every player loaded in the scene, including ourselves
+   */
+  @Memoized
+  List<Player> all();
+
+  @Memoized
+  boolean isInHouse();
+
+  @Memoized
+  int getHealthPercent();
+}
@@ -0,0 +1,46 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+import org.rspeer.game.adapter.scene.Npc;
+import org.rspeer.game.adapter.scene.SceneObject;
+import org.rspeer.game.position.Position;
+
+/**
+ * Scene lookups, the finders mirror {@link org.rspeer.scripts.wintertodt.api.Province}
+ */
+@ProvidedBy(ClientGateways.Scene.class)
+public interface SceneGateway {
+
+  @Memoized
+  SceneObject findDoor();
+
+  @Memoized
+  SceneObject findBrazier(Position position, String action);
+
+  @Memoized
+  SceneObject findRoots(Position position);
+
+  @Memoized
+  SceneObject findObject(int id, Position position);
+
+  @Memoized
+  Npc findIncapacitatedPyromancer(Position position);
+
+  @Memoized
+  SceneObject findJewelleryBox();
+
+  @Memoized
+  SceneObject findRejuvenationPool();
+
+  /**
+   * @return The collision flags of the loaded scene on the current floor, indexed [x][y] relative to the scene base
+   */
+  @Memoized
+  int[][] getCollisionFlags();
+
+  @Memoized
+  int getBaseX();
+
+  @Memoized
+  int getBaseY();
+}
@@ -0,0 +1,11 @@
+package org.rspeer.scripts.wintertodt.api.gateway;
+
+import com.google.inject.ProvidedBy;
+import org.rspeer.game.Vars;
+
+@ProvidedBy(ClientGateways.Vars.class)
+public interface VarGateway {
+
+  @Memoized
+  int get(Vars.Type type, int index);
+}
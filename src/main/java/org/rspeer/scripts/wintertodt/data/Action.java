@@ -32,7 +32,6 @@ public enum Action {
    * Checks if the action is currently active
    */
   public boolean isActive(Domain domain) {
-    return domain.getState().getLastAnimation() == animation &&
-            !domain.getTimers().isIdle(duration);
+    return domain.getSnapshot().isActive(this);
   }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.rspeer.scripts.wintertodt.data;
+
+/**
+ * What the player should spend the next ticks of a game on
+ */
+public enum Allocation {
+
+  CHOP,
+  FLETCH,
+  BURN;
+
+  /**
+   * Why an allocation was chosen, recorded alongside it in the journal
+   */
+  public enum Reason {
+    NOTHING_TO_BURN,
+    DEADLINE,
+    SECURING_REWARD,
+    FILLING_BACKPACK,
+    FLETCHING_PAYS,
+    BURNING_STOCK
+  }
+}
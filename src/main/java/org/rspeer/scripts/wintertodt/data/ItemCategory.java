@@ -0,0 +1,58 @@
+package org.rspeer.scripts.wintertodt.data;
+
+import org.rspeer.game.adapter.definition.ItemDefinition;
+
+import java.util.function.Predicate;
+
+/**
+ * Item categories the script cares about, each occupying one bit of an item's classification mask
+ */
+public enum ItemCategory {
+
+  FOOD(def -> hasAction(def, "Eat") || hasAction(def, "Drink")),
+  JUNK(def -> def.getName().equals("Vial") || def.getName().equals("Jug")),
+  ROOT(def -> def.getName().equals(Constant.ROOT)),
+  KINDLING(def -> def.getName().equals(Constant.KINDLING)),
+  BURNABLE(def -> ROOT.matches(def) || KINDLING.matches(def)),
+  AXE(def -> def.getName().contains("Axe") || def.getName().contains(" axe")),
+  KNIFE(def -> def.getName().contains("Knife")),
+  TINDERBOX(def -> def.getName().contains("Tinderbox")),
+  HAMMER(def -> def.getName().contains("Hammer")),
+  SHORTBOW(def -> def.getName().equals(Constant.MAPLE_SHORTBOW)),
+  TWO_HANDED(def -> def.getName().equals(Constant.RUNE_2H)),
+  PK_FOOD(def -> def.getName().equals(Constant.SWORDFISH));
+
+  private final Predicate<ItemDefinition> matcher;
+  private final int mask;
+
+  ItemCategory(Predicate<ItemDefinition> matcher) {
+    this.matcher = matcher;
+    this.mask = 1 << ordinal();
+  }
+
+  private static boolean hasAction(ItemDefinition definition, String action) {
+    String[] actions = definition.getActions();
+    if (actions == null) {
+      return false;
+    }
+
+    for (String candidate : actions) {
+      if (action.equals(candidate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean matches(ItemDefinition definition) {
+    return matcher.test(definition);
+  }
+
+  public int getMask() {
+    return mask;
+  }
+
+  public boolean isIn(int mask) {
+    return (mask & this.mask) != 0;
+  }
+}
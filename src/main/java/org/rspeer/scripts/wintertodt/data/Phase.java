@@ -0,0 +1,41 @@
+package org.rspeer.scripts.wintertodt.data;
+
+public enum Phase {
+
+  /**
+   * Outside of the Wintertodt region, banking, pooling, hopping or entering
+   */
+  PREPARE,
+
+  /**
+   * Inside the Wintertodt region while the boss is respawning
+   */
+  RESPAWNING,
+
+  /**
+   * Inside the Wintertodt region while a game is running
+   */
+  ACTIVE;
+
+  private final int mask = 1 << ordinal();
+
+  public static Phase of(boolean inGame, boolean respawning) {
+    if (!inGame) {
+      return PREPARE;
+    }
+
+    return respawning ? RESPAWNING : ACTIVE;
+  }
+
+  public static int mask(Phase... phases) {
+    int mask = 0;
+    for (Phase phase : phases) {
+      mask |= phase.mask;
+    }
+    return mask;
+  }
+
+  public int getMask() {
+    return mask;
+  }
+}
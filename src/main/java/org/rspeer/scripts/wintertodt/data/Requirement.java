@@ -0,0 +1,87 @@
+package org.rspeer.scripts.wintertodt.data;
+
+import org.rspeer.scripts.wintertodt.domain.config.Config;
+
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Something the player needs to carry before playing, tracked as one bit of a readiness mask
+ */
+public enum Requirement {
+
+  KNIFE(ItemCategory.KNIFE, WintertodtItem.KNIFE::isRequired),
+  TINDERBOX(ItemCategory.TINDERBOX, WintertodtItem.TINDERBOX::isRequired),
+  HAMMER(ItemCategory.HAMMER, WintertodtItem.HAMMER::isRequired),
+  AXE(ItemCategory.AXE, WintertodtItem.AXE::isRequired, true),
+  FOOD(ItemCategory.FOOD, Config::getFoodAmount),
+
+  SHORTBOW(ItemCategory.SHORTBOW, true),
+  TWO_HANDED(ItemCategory.TWO_HANDED, true),
+  PK_FOOD(ItemCategory.PK_FOOD, (Config config) -> Constant.MIN_FOOD_COUNT);
+
+  /** Requirements for a Wintertodt game, the knife only if fletching is enabled **/
+  public static final int WINTERTODT = mask(KNIFE, TINDERBOX, HAMMER, AXE, FOOD);
+
+  /** Requirements for a PK trip **/
+  public static final int PK = mask(SHORTBOW, TWO_HANDED, PK_FOOD);
+
+  private final ItemCategory category;
+  private final Predicate<Config> required;
+  private final ToIntFunction<Config> amount;
+  private final boolean wearable;
+
+  Requirement(ItemCategory category, Predicate<Config> required, ToIntFunction<Config> amount, boolean wearable) {
+    this.category = category;
+    this.required = required;
+    this.amount = amount;
+    this.wearable = wearable;
+  }
+
+  Requirement(ItemCategory category, Predicate<Config> required, boolean wearable) {
+    this(category, required, config -> 1, wearable);
+  }
+
+  Requirement(ItemCategory category, Predicate<Config> required) {
+    this(category, required, false);
+  }
+
+  Requirement(ItemCategory category, ToIntFunction<Config> amount) {
+    this(category, config -> true, amount, false);
+  }
+
+  Requirement(ItemCategory category, boolean wearable) {
+    this(category, config -> true, wearable);
+  }
+
+  public static int mask(Requirement... requirements) {
+    int mask = 0;
+    for (Requirement requirement : requirements) {
+      mask |= requirement.getMask();
+    }
+    return mask;
+  }
+
+  public ItemCategory getCategory() {
+    return category;
+  }
+
+  public boolean isRequired(Config config) {
+    return required.test(config);
+  }
+
+  /**
+   * @return The amount that has to be carried in the backpack, unless the item is worn
+   */
+  public int getAmount(Config config) {
+    return amount.applyAsInt(config);
+  }
+
+  public boolean isWearable() {
+    return wearable;
+  }
+
+  public int getMask() {
+    return 1 << ordinal();
+  }
+}
@@ -0,0 +1,59 @@
+package org.rspeer.scripts.f2ppker.data;
+
+/**
+ * Weapon classes recognised from other players' attack animations.
+ * Speeds are attack intervals in ticks and max hits are typical F2P values,
+ * only used to rank attackers and predict when their next hit lands.
+ */
+public enum WeaponClass {
+  BOW(Constant.BOW_ATTACK_ANIMATION, Constant.BOW_SPEED, 16),
+  TWO_HANDED(Constant.RUNE_2H_ATTACK_ANIMATION, Constant.RUNE_2H_SPEED, 39),
+  CLUB(Constant.HILL_GIANT_CLUB_ATTACK_ANIMATION, 7, 40),
+  BATTLEAXE(Constant.RUNE_BATTLEAXE_ATTACK_ANIMATION, 6, 30),
+  WARHAMMER(Constant.RUNE_WARHAMMER_ATTACK_ANIMATION, 6, 28),
+  MAGIC(Constant.COMBAT_SPELL_ANIMATION, 5, 16),
+  SCIMITAR(Constant.RUNE_SCIMITAR_ATTACK_ANIMATION, 4, 24);
+
+  private static final WeaponClass[] VALUES = values();
+
+  private final int animation;
+  private final int speed;
+  private final int maxHit;
+
+  WeaponClass(int animation, int speed, int maxHit) {
+    this.animation = animation;
+    this.speed = speed;
+    this.maxHit = maxHit;
+  }
+
+  public int getAnimation() {
+    return animation;
+  }
+
+  public int getSpeed() {
+    return speed;
+  }
+
+  public int getMaxHit() {
+    return maxHit;
+  }
+
+  /**
+   * @return The expected damage per tick, assuming every attack hits for half the max hit
+   */
+  public double getDamagePerTick() {
+    return maxHit / 2.0 / speed;
+  }
+
+  /**
+   * @return The weapon class performing the given attack animation, or null if it isn't an attack
+   */
+  public static WeaponClass of(int animation) {
+    for (WeaponClass weapon : VALUES) {
+      if (weapon.animation == animation) {
+        return weapon;
+      }
+    }
+    return null;
+  }
+}
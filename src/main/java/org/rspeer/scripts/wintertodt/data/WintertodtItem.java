@@ -3,29 +3,32 @@ package org.rspeer.scripts.wintertodt.data;
 import org.rspeer.game.adapter.component.inventory.Inventory;
 import org.rspeer.game.query.component.ItemQuery;
 import org.rspeer.game.query.results.ItemQueryResults;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
 import org.rspeer.scripts.wintertodt.domain.config.Config;
 
 import java.util.function.Function;
 
 public enum WintertodtItem implements Function<ItemQuery, ItemQueryResults> {
 
-  KNIFE(Crate.KNIFE, "Knife"),
-  TINDERBOX(Crate.TINDERBOX, "Tinderbox"),
-  HAMMER(Crate.HAMMER, "Hammer"),
-  AXE(Crate.AXE, "Axe", true);
+  KNIFE(Crate.KNIFE, "Knife", ItemCategory.KNIFE),
+  TINDERBOX(Crate.TINDERBOX, "Tinderbox", ItemCategory.TINDERBOX),
+  HAMMER(Crate.HAMMER, "Hammer", ItemCategory.HAMMER),
+  AXE(Crate.AXE, "Axe", ItemCategory.AXE, true);
 
   private final Crate crate;
   private final String name;
+  private final ItemCategory category;
   private final boolean wearable;
 
-  WintertodtItem(Crate crate, String name, boolean wearable) {
+  WintertodtItem(Crate crate, String name, ItemCategory category, boolean wearable) {
     this.crate = crate;
     this.name = name;
+    this.category = category;
     this.wearable = wearable;
   }
 
-  WintertodtItem(Crate crate, String name) {
-    this(crate, name, false);
+  WintertodtItem(Crate crate, String name, ItemCategory category) {
+    this(crate, name, category, false);
   }
 
   public boolean isRequired(Config config) {
@@ -37,17 +40,21 @@ public enum WintertodtItem implements Function<ItemQuery, ItemQueryResults> {
       return true;
     }
 
-    if (wearable && Inventory.equipment().contains(this)) {
+    if (wearable && ItemClassifier.contains(Inventory.equipment(), category)) {
       return true;
     }
 
-    return Inventory.backpack().contains(this);
+    return ItemClassifier.contains(Inventory.backpack(), category);
   }
 
   public String getName() {
     return name;
   }
 
+  public ItemCategory getCategory() {
+    return category;
+  }
+
   @Override
   public ItemQueryResults apply(ItemQuery iq) {
     return iq.nameContains(name).results();
@@ -0,0 +1,272 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.position.Position;
+import org.rspeer.scripts.wintertodt.api.gateway.SceneGateway;
+import org.rspeer.scripts.wintertodt.data.Constant;
+import org.rspeer.scripts.wintertodt.data.Gang;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distance fields over the loaded scene, one per {@link Gang} and {@link Target}, plus one for the waiting area.
+ * Each field holds the shortest path length in tiles from every tile to the target, following the collision flags,
+ * so travel time lookups are a single array read. Fields are rebuilt whenever the scene base changes.
+ */
+@Singleton
+public class Arena {
+  private static final int UNREACHABLE = -1;
+
+  // Movement collision flags, a flag on a tile blocks entering it from that side
+  private static final int BLOCK_NORTH_WEST = 0x1;
+  private static final int BLOCK_NORTH = 0x2;
+  private static final int BLOCK_NORTH_EAST = 0x4;
+  private static final int BLOCK_EAST = 0x8;
+  private static final int BLOCK_SOUTH_EAST = 0x10;
+  private static final int BLOCK_SOUTH = 0x20;
+  private static final int BLOCK_SOUTH_WEST = 0x40;
+  private static final int BLOCK_WEST = 0x80;
+  private static final int BLOCK_FULL = 0x100 | 0x40000 | 0x200000;
+
+  private static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+  private static final int[] DY = {1, 0, -1, 0, 1, -1, -1, 1};
+
+  private static final Gang[] GANGS = Gang.values();
+  private static final Target[] TARGETS = Target.values();
+
+  public enum Target {
+    BRAZIER,
+    ROOTS,
+    STEP
+  }
+
+  private final SceneGateway scene;
+
+  private int baseX = Integer.MIN_VALUE;
+  private int baseY = Integer.MIN_VALUE;
+  private int width;
+  private int height;
+
+  /** Distance fields indexed [gang][target][x * height + y] **/
+  private short[][][] fields;
+  private short[] waiting;
+
+  /** Waiting tile closest to the step of each gang, indexed by ordinal **/
+  private final Position[] waitingTiles = new Position[GANGS.length];
+
+  @Inject
+  public Arena(SceneGateway scene) {
+    this.scene = scene;
+  }
+
+  /**
+   * @return The ticks needed to reach the target of a gang from a position, or -1 if it can't be reached
+   */
+  public int ticksTo(Gang gang, Target target, Position from, boolean running) {
+    if (!refresh()) {
+      return UNREACHABLE;
+    }
+
+    return toTicks(lookup(fields[gang.ordinal()][target.ordinal()], from), running);
+  }
+
+  /**
+   * @return The ticks needed to reach the waiting area from a position, or -1 if it can't be reached
+   */
+  public int ticksToWaitingArea(Position from, boolean running) {
+    if (!refresh()) {
+      return UNREACHABLE;
+    }
+
+    return toTicks(lookup(waiting, from), running);
+  }
+
+  /**
+   * @return The waiting area tile with the shortest path to the step of a gang, or null if the arena isn't loaded
+   */
+  public Position getWaitingTile(Gang gang) {
+    if (!refresh()) {
+      return null;
+    }
+
+    return waitingTiles[gang.ordinal()];
+  }
+
+  private static int toTicks(int distance, boolean running) {
+    if (distance == UNREACHABLE) {
+      return UNREACHABLE;
+    }
+
+    return running ? (distance + 1) / 2 : distance;
+  }
+
+  private int lookup(short[] field, Position position) {
+    int x = position.getX() - baseX;
+    int y = position.getY() - baseY;
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return UNREACHABLE;
+    }
+
+    return field[x * height + y];
+  }
+
+  /**
+   * Rebuilds the fields if the scene moved since they were built
+   *
+   * @return false if there is no collision data to build from
+   */
+  private boolean refresh() {
+    int baseX = scene.getBaseX();
+    int baseY = scene.getBaseY();
+    if (fields != null && baseX == this.baseX && baseY == this.baseY) {
+      return true;
+    }
+
+    int[][] flags = scene.getCollisionFlags();
+    if (flags == null || flags.length == 0) {
+      return false;
+    }
+
+    this.baseX = baseX;
+    this.baseY = baseY;
+    this.width = flags.length;
+    this.height = flags[0].length;
+    build(flags);
+    return true;
+  }
+
+  private void build(int[][] flags) {
+    int[] queue = new int[width * height];
+    fields = new short[GANGS.length][TARGETS.length][];
+    for (Gang gang : GANGS) {
+      short[][] targets = fields[gang.ordinal()];
+      targets[Target.BRAZIER.ordinal()] = search(flags, queue, gang.getBrazier());
+      targets[Target.ROOTS.ordinal()] = search(flags, queue, gang.getRoots());
+      targets[Target.STEP.ordinal()] = search(flags, queue, gang.getStep());
+    }
+
+    List<Position> tiles = Constant.WAITING_AREA.getTiles();
+    waiting = search(flags, queue, tiles.toArray(new Position[0]));
+
+    for (Gang gang : GANGS) {
+      short[] step = fields[gang.ordinal()][Target.STEP.ordinal()];
+      Position best = null;
+      int bestDistance = Integer.MAX_VALUE;
+      for (Position tile : tiles) {
+        int distance = lookup(step, tile);
+        if (distance != UNREACHABLE && distance < bestDistance) {
+          best = tile;
+          bestDistance = distance;
+        }
+      }
+      waitingTiles[gang.ordinal()] = best;
+    }
+  }
+
+  /**
+   * Breadth-first search outwards from the targets. Targets that are objects are usually blocked themselves,
+   * so a blocked target seeds its walkable neighbours instead, which are where the object is used from.
+   */
+  private short[] search(int[][] flags, int[] queue, Position... targets) {
+    short[] field = new short[width * height];
+    Arrays.fill(field, (short) UNREACHABLE);
+
+    int head = 0;
+    int tail = 0;
+    for (Position target : targets) {
+      int x = target.getX() - baseX;
+      int y = target.getY() - baseY;
+      if (!isInside(x, y)) {
+        continue;
+      }
+
+      if ((flags[x][y] & BLOCK_FULL) == 0) {
+        tail = seed(field, queue, tail, x, y);
+        continue;
+      }
+
+      for (int direction = 0; direction < 4; direction++) {
+        int nx = x + DX[direction];
+        int ny = y + DY[direction];
+        if (isInside(nx, ny) && (flags[nx][ny] & BLOCK_FULL) == 0) {
+          tail = seed(field, queue, tail, nx, ny);
+        }
+      }
+    }
+
+    while (head < tail) {
+      int index = queue[head++];
+      int x = index / height;
+      int y = index % height;
+      short next = (short) (field[index] + 1);
+      for (int direction = 0; direction < DX.length; direction++) {
+        int nx = x + DX[direction];
+        int ny = y + DY[direction];
+        if (!isInside(nx, ny) || field[nx * height + ny] != UNREACHABLE) {
+          continue;
+        }
+
+        // Paths are symmetric, so stepping from the neighbour onto this tile is checked the same way
+        if (canMove(flags, x, y, DX[direction], DY[direction])) {
+          field[nx * height + ny] = next;
+          queue[tail++] = nx * height + ny;
+        }
+      }
+    }
+
+    return field;
+  }
+
+  private int seed(short[] field, int[] queue, int tail, int x, int y) {
+    int index = x * height + y;
+    if (field[index] == UNREACHABLE) {
+      field[index] = 0;
+      queue[tail++] = index;
+    }
+    return tail;
+  }
+
+  private boolean isInside(int x, int y) {
+    return x >= 0 && y >= 0 && x < width && y < height;
+  }
+
+  /**
+   * Checks a single step from a tile in the given direction against the collision flags of the tiles it passes
+   */
+  private boolean canMove(int[][] flags, int x, int y, int dx, int dy) {
+    int tx = x + dx;
+    int ty = y + dy;
+    if (dx == 0 || dy == 0) {
+      return !isBlocked(flags[tx][ty], entering(dx, dy));
+    }
+
+    // A diagonal step also requires both adjacent orthogonal steps to be clear
+    return !isBlocked(flags[tx][ty], entering(dx, dy))
+        && !isBlocked(flags[tx][y], entering(dx, 0))
+        && !isBlocked(flags[x][ty], entering(0, dy));
+  }
+
+  private static boolean isBlocked(int flags, int side) {
+    return (flags & (BLOCK_FULL | side)) != 0;
+  }
+
+  /**
+   * @return The flag that blocks entering a tile when moving in the given direction
+   */
+  private static int entering(int dx, int dy) {
+    if (dx == 0) {
+      return dy > 0 ? BLOCK_SOUTH : BLOCK_NORTH;
+    }
+
+    if (dy == 0) {
+      return dx > 0 ? BLOCK_WEST : BLOCK_EAST;
+    }
+
+    if (dx > 0) {
+      return dy > 0 ? BLOCK_SOUTH_WEST : BLOCK_NORTH_WEST;
+    }
+    return dy > 0 ? BLOCK_SOUTH_EAST : BLOCK_NORTH_EAST;
+  }
+}
@@ -0,0 +1,91 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+/**
+ * Bounded open-addressing map from player name hash to the tick they were last in combat.
+ * Entries older than the expiry are treated as empty and reused, and when every slot of a
+ * probe window is live the oldest entry is evicted, so memory stays fixed however many players we hit.
+ * Names are keyed by their hash, a collision between two names can at worst report a false positive.
+ */
+final class CombatLedger {
+
+  private static final int EMPTY = 0;
+  private static final int MAX_PROBES = 8;
+
+  private final int[] keys;
+  private final int[] ticks;
+  private final int mask;
+  private final int expiry;
+
+  /**
+   * @param capacity Amount of slots, must be a power of two
+   * @param expiry   Amount of ticks after which an entry expires
+   */
+  CombatLedger(int capacity, int expiry) {
+    if (Integer.bitCount(capacity) != 1 || capacity < MAX_PROBES) {
+      throw new IllegalArgumentException("Capacity must be a power of two of at least " + MAX_PROBES);
+    }
+
+    this.keys = new int[capacity];
+    this.ticks = new int[capacity];
+    this.mask = capacity - 1;
+    this.expiry = expiry;
+  }
+
+  private static int key(String name) {
+    int hash = name.hashCode();
+    return hash == EMPTY ? 1 : hash;
+  }
+
+  private static int spread(int key) {
+    return key ^ (key >>> 16);
+  }
+
+  void record(String name, int now) {
+    int key = key(name);
+    int start = spread(key) & mask;
+    int candidate = -1;
+    int oldest = -1;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      int slot = (start + probe) & mask;
+      if (keys[slot] == key) {
+        ticks[slot] = now;
+        return;
+      }
+
+      if (candidate == -1 && (keys[slot] == EMPTY || isExpired(slot, now))) {
+        candidate = slot;
+      }
+
+      if (oldest == -1 || ticks[slot] < ticks[oldest]) {
+        oldest = slot;
+      }
+    }
+
+    int slot = candidate != -1 ? candidate : oldest;
+    keys[slot] = key;
+    ticks[slot] = now;
+  }
+
+  /**
+   * @return The tick the player was last in combat, or -1 if unknown or expired
+   */
+  int getLastTick(String name, int now) {
+    int key = key(name);
+    int start = spread(key) & mask;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      int slot = (start + probe) & mask;
+      if (keys[slot] == key) {
+        return isExpired(slot, now) ? -1 : ticks[slot];
+      }
+    }
+    return -1;
+  }
+
+  int getExpiry() {
+    return expiry;
+  }
+
+  private boolean isExpired(int slot, int now) {
+    return now - ticks[slot] >= expiry;
+  }
+}
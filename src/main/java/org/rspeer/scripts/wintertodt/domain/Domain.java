@@ -2,89 +2,295 @@ package main.java.org.rspeer.scripts.f2ppker.domain;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.rspeer.event.Event;
 import org.rspeer.event.Subscribe;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.component.tdi.Skill;
 import org.rspeer.game.event.*;
 import org.rspeer.game.scene.Players;
 import org.rspeer.game.script.event.ScriptConfigEvent;
+import org.rspeer.game.script.meta.ScriptConfig;
 import main.java.org.rspeer.scripts.f2ppker.data.Action;
 import main.java.org.rspeer.scripts.f2ppker.data.Constant;
 import main.java.org.rspeer.scripts.f2ppker.domain.config.Config;
 import org.rspeer.commons.logging.Log;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
 /**
  * Central event handler and domain coordinator for the F2P PKer script.
  * Handles all event subscriptions and coordinates between domain components.
+ * Game events are queued by the dispatcher thread and applied on the script thread in {@link #drain()},
+ * so the domain components are only ever mutated by a single thread.
+ * Readers that need a consistent view across components should use {@link #getSnapshot()},
+ * which is republished whenever the script thread changes the state, target or weapons outside of a drain.
  */
 @Singleton
 public class Domain {
+  private static final int EVENT_CAPACITY = 1024;
+
   private final Config config;
   private final State state;
   private final Timers timers;
   private final TargetTracker targetTracker;
   private final WeaponTracker weaponTracker;
   private final Statistics statistics;
+  private final WorldSnapshot world;
+  private final Journal journal;
+  private final InventoryCounters inventory;
+  private final Arena arena;
+  private final PlayerIndex players;
+  private final TargetScorer scorer;
+  private final ThreatTracker threats;
+  private final HitpointsEstimator hitpoints;
+
+  /** Events handed over from the client's dispatcher thread, applied on the script thread **/
+  private final EventRing<Event<?>> events = new EventRing<>(EVENT_CAPACITY);
+  private final Consumer<Event<?>> applier = this::apply;
+
+  /** Ticks that arrived while the ring was full, applied by the next drain as ticks must never be lost **/
+  private final AtomicInteger missedTicks = new AtomicInteger();
+  private volatile int coalescedTicks;
+
+  /** Matches every registered message pattern in a single pass over a chat message **/
+  private final MessageClassifier classifier = new MessageClassifier(MessageType.values());
+
+  /** Consistent view of the last applied tick, swapped atomically after each drain and each change made since **/
+  private final SnapshotPublisher publisher;
+
+  /** Captures the applied event stream for replay, null unless recording **/
+  private volatile EventRecorder recorder;
 
   @Inject
   public Domain(Config config, State state, Timers timers,
                 TargetTracker targetTracker, WeaponTracker weaponTracker,
-                Statistics statistics) {
+                Statistics statistics, WorldSnapshot world, Journal journal,
+                InventoryCounters inventory, Arena arena, PlayerIndex players,
+                TargetScorer scorer, ThreatTracker threats, HitpointsEstimator hitpoints) {
     this.config = config;
     this.state = state;
     this.timers = timers;
     this.targetTracker = targetTracker;
     this.weaponTracker = weaponTracker;
     this.statistics = statistics;
+    this.world = world;
+    this.journal = journal;
+    this.inventory = inventory;
+    this.arena = arena;
+    this.players = players;
+    this.scorer = scorer;
+    this.threats = threats;
+    this.hitpoints = hitpoints;
+    this.publisher = new SnapshotPublisher(timers, state, targetTracker, weaponTracker);
   }
 
   @Subscribe
   public void notify(ScriptConfigEvent event) {
-    config.initialize(event.getSource());
+    applyConfig(event.getSource());
   }
 
   @Subscribe
   public void notify(TickEvent event) {
-    timers.tick();
-    state.tick();
+    // Every per-tick cache and the timing wheel are keyed on the tick count, so a tick is coalesced rather than dropped
+    if (!events.offer(event)) {
+      missedTicks.incrementAndGet();
+      coalescedTicks++;
+    }
   }
 
   @Subscribe
   public void notify(AnimationEvent event) {
-    if (event.getSource().equals(Players.self())) {
-      timers.animate();
-      state.animate(event.getCurrent());
-
-      // Track specific combat animations
-      if (event.getCurrent() == Action.BOW_ATTACK.getAnimation()) {
-        Log.fine("Domain: Bow attack animation detected");
-        weaponTracker.registerBowAttack(timers.now());
-      } else if (event.getCurrent() == Action.RUNE_2H_ATTACK.getAnimation()) {
-        Log.fine("Domain: 2H attack animation detected");
-      }
+    // Pre-filter on the dispatcher thread, only our own animations, attacks on us and our target eating are of interest
+    Player self = Players.self();
+    Object source = event.getSource();
+    if (source.equals(self)) {
+      events.offer(event);
+    } else if (source instanceof Player && isOfInterest((Player) source, self, event.getCurrent())) {
+      events.offer(event);
+    }
+  }
 
-      // Track if this is an attack animation with a pending target
-      if (Constant.ATTACK_ANIMATIONS.contains(event.getCurrent()) &&
-              targetTracker.getPendingTargetName() != null) {
-        Log.info("Domain: Attack animation detected, confirming target: " +
-                targetTracker.getPendingTargetName());
-        targetTracker.confirmPendingTarget();
-        state.setCurrentState(State.BotState.RANGING);
-      }
+  private boolean isOfInterest(Player player, Player self, int animation) {
+    if (Constant.ATTACK_ANIMATIONS.contains(animation)) {
+      return self != null && self.equals(player.getTarget());
     }
+
+    // The snapshot is the only view of the target that is safe to read from the dispatcher thread
+    return animation == Constant.EAT_ANIMATION && player.getName().equals(publisher.get().getTargetName());
   }
 
   @Subscribe
   public void notify(ChatMessageEvent event) {
     ChatMessageEvent.Type type = event.getType();
     if (type == ChatMessageEvent.Type.FILTERED || type == ChatMessageEvent.Type.GAME) {
-      String text = event.getContents().toLowerCase();
-      timers.message(text);
-
-      // Handle combat-specific messages
-      if (text.contains("is fighting another player")) {
-        handlePlayerInCombatMessage();
-      } else if (text.contains("died")) {
-        statistics.message(text);
+      events.offer(event);
+    }
+  }
+
+  @Subscribe
+  public void notify(SkillEvent event) {
+    if (event.getSource() == Skill.RANGED || event.getSource() == Skill.HITPOINTS) {
+      events.offer(event);
+    }
+  }
+
+  @Subscribe
+  public void notify(HitsplatEvent event) {
+    events.offer(event);
+  }
+
+  /**
+   * Applies every event queued by the dispatcher thread to the domain components.
+   * Must only be called from the script thread, which is the only thread mutating the domain.
+   *
+   * @return The amount of events applied
+   */
+  public int drain() {
+    int applied = 0;
+    publisher.begin();
+    try {
+      applied = events.drain(applier);
+
+      // Ticks missed while the ring was full land after the events that filled it
+      int missed = missedTicks.getAndSet(0);
+      for (int i = 0; i < missed; i++) {
+        applyTick();
+      }
+      applied += missed;
+    } finally {
+      publisher.end(applied > 0);
+    }
+    return applied;
+  }
+
+  /**
+   * Tasks should read this once per tick rather than the components one field at a time.
+   *
+   * @return An immutable view of the domain as of the last drain or change made since, safe to read from any thread
+   */
+  public DomainSnapshot getSnapshot() {
+    return publisher.get();
+  }
+
+  /**
+   * @return The amount of events dropped because the script thread fell too far behind, ticks are never dropped
+   */
+  public int getDroppedEvents() {
+    return events.getDropped() - coalescedTicks;
+  }
+
+  private void apply(Event<?> event) {
+    if (event instanceof TickEvent) {
+      applyTick();
+    } else if (event instanceof AnimationEvent) {
+      AnimationEvent animation = (AnimationEvent) event;
+      Object source = animation.getSource();
+      if (source instanceof Player && !source.equals(Players.self())) {
+        applyPlayerAnimation(((Player) source).getName(), animation.getCurrent());
+      } else {
+        applyAnimation(animation.getCurrent());
       }
+    } else if (event instanceof ChatMessageEvent) {
+      applyMessage(((ChatMessageEvent) event).getContents());
+    } else if (event instanceof SkillEvent) {
+      SkillEvent skill = (SkillEvent) event;
+      applySkill(skill.getSource(), skill.getChange());
+    } else if (event instanceof HitsplatEvent) {
+      Object source = event.getSource();
+      int damage = ((HitsplatEvent) event).getHitsplat().getDamage();
+      applyHitsplat(source instanceof Player ? ((Player) source).getName() : null, damage);
+    }
+  }
+
+  void applyConfig(ScriptConfig source) {
+    config.initialize(source);
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.config(config);
+    }
+  }
+
+  void applyTick() {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.tick();
+    }
+
+    timers.tick();
+    world.tick();
+    players.tick();
+    threats.tick();
+    hitpoints.tick();
+  }
+
+  void applyAnimation(int animation) {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.animation(animation);
+    }
+
+    timers.animate();
+    state.animate(animation);
+
+    // Track specific combat animations
+    if (animation == Action.BOW_ATTACK.getAnimation()) {
+      journal.record(JournalEvent.BOW_ATTACK_DETECTED);
+      weaponTracker.registerBowAttack(timers.now());
+    } else if (animation == Action.RUNE_2H_ATTACK.getAnimation()) {
+      journal.record(JournalEvent.TWO_HANDED_ATTACK_DETECTED);
+    }
+
+    // Track if this is an attack animation with a pending target
+    if (Constant.ATTACK_ANIMATIONS.contains(animation) &&
+            targetTracker.getPendingTargetName() != null) {
+      Log.info("Domain: Attack animation detected, confirming target: " +
+              targetTracker.getPendingTargetName());
+      targetTracker.confirmPendingTarget();
+      state.setCurrentState(State.BotState.RANGING);
+    }
+  }
+
+  /**
+   * @param playerName The name of another player that attacked us, or of our target eating
+   */
+  void applyPlayerAnimation(String playerName, int animation) {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.playerAnimation(playerName, animation);
+    }
+
+    if (animation == Constant.EAT_ANIMATION) {
+      if (playerName.equals(targetTracker.getTargetName())) {
+        hitpoints.eat();
+      }
+      return;
+    }
+
+    threats.attack(playerName, animation);
+  }
+
+  void applyMessage(String contents) {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.message(contents);
+    }
+
+    int types = classifier.classify(contents);
+    if (types == 0) {
+      return;
+    }
+
+    timers.message(types);
+    state.message(types);
+
+    // Handle combat-specific messages
+    if (MessageType.TARGET_BUSY.isIn(types)) {
+      handlePlayerInCombatMessage();
+    } else if (MessageType.PLAYER_DIED.isIn(types)) {
+      statistics.message(contents.toLowerCase());
     }
   }
 
@@ -100,28 +306,57 @@ public class Domain {
     }
   }
 
-  @Subscribe
-  public void notify(SkillEvent event) {
+  void applySkill(Skill skill, int change) {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.skill(skill, change);
+    }
+
     // Handle skill experience changes - important for damage prediction
-    if (event.getSource() == org.rspeer.game.component.tdi.Skill.RANGED) {
-      targetTracker.skillChange(event);
+    targetTracker.skillChange(skill, change);
+    hitpoints.skill(skill, change);
 
-      // If we're targeting someone and got range exp, register a bow hit
-      if (event.getChange() > 0 && targetTracker.getTargetName() != null) {
-        weaponTracker.registerBowHit(timers.now());
-      }
+    // If we're targeting someone and got range exp, register a bow hit
+    if (skill == Skill.RANGED && change > 0 && targetTracker.getTargetName() != null) {
+      weaponTracker.registerBowHit(timers.now());
     }
   }
 
-  @Subscribe
-  public void notify(HitsplatEvent event) {
-    // If our target took damage and we're in combat with them
-    if (targetTracker.getTargetName() != null &&
-            Players.query().names(targetTracker.getTargetName()).results().first() != null &&
-            event.getSource().equals(Players.query().names(targetTracker.getTargetName()).results().first())) {
+  /**
+   * @param sourceName The name of the player that was hit, or null if it wasn't a player
+   * @param damage     The damage shown on the hitsplat
+   */
+  void applyHitsplat(String sourceName, int damage) {
+    EventRecorder recorder = this.recorder;
+    if (recorder != null) {
+      recorder.hitsplat(sourceName, damage);
+    }
 
+    // If our target took damage and we're in combat with them
+    String target = targetTracker.getTargetName();
+    if (target != null && target.equals(sourceName)) {
       // Record combat timing for this player
-      timers.recordCombat(targetTracker.getTargetName());
+      timers.recordCombat(target);
+      hitpoints.hitsplat(damage);
+    }
+  }
+
+  /**
+   * Starts capturing every applied event to the given stream, replacing any previous recording
+   */
+  public void startRecording(OutputStream output) throws IOException {
+    stopRecording();
+    recorder = new EventRecorder(output);
+  }
+
+  /**
+   * Stops capturing events and closes the recording, if one was started
+   */
+  public void stopRecording() throws IOException {
+    EventRecorder recorder = this.recorder;
+    this.recorder = null;
+    if (recorder != null) {
+      recorder.close();
     }
   }
 
@@ -132,4 +367,12 @@ public class Domain {
   public TargetTracker getTargets() { return targetTracker; }
   public WeaponTracker getWeaponTracker() { return weaponTracker; }
   public Statistics getStatistics() { return statistics; }
+  public WorldSnapshot getWorld() { return world; }
+  public Journal getJournal() { return journal; }
+  public InventoryCounters getInventory() { return inventory; }
+  public Arena getArena() { return arena; }
+  public PlayerIndex getPlayers() { return players; }
+  public TargetScorer getScorer() { return scorer; }
+  public ThreatTracker getThreats() { return threats; }
+  public HitpointsEstimator getHitpoints() { return hitpoints; }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import main.java.org.rspeer.scripts.f2ppker.data.Action;
+
+/**
+ * Immutable view of the domain as of the last applied game tick.
+ * Published by the {@link Domain} through a volatile reference, so any thread
+ * reading a snapshot sees every field from the same tick without locking.
+ */
+public final class DomainSnapshot {
+
+  static final DomainSnapshot EMPTY = new DomainSnapshot(
+      0, 0, -1, State.BotState.IDLE, false, false,
+      null, null, false, 0, 0
+  );
+
+  private final int tick;
+  private final int lastAnimationTick;
+  private final int lastAnimation;
+  private final State.BotState currentState;
+  private final boolean needToAttack;
+  private final boolean needToEquipBow;
+  private final String targetName;
+  private final String pendingTargetName;
+  private final boolean canUseRune2h;
+  private final int lastBowHitTick;
+  private final int lastBowAttackTick;
+
+  private DomainSnapshot(int tick, int lastAnimationTick, int lastAnimation, State.BotState currentState,
+                         boolean needToAttack, boolean needToEquipBow,
+                         String targetName, String pendingTargetName,
+                         boolean canUseRune2h, int lastBowHitTick, int lastBowAttackTick) {
+    this.tick = tick;
+    this.lastAnimationTick = lastAnimationTick;
+    this.lastAnimation = lastAnimation;
+    this.currentState = currentState;
+    this.needToAttack = needToAttack;
+    this.needToEquipBow = needToEquipBow;
+    this.targetName = targetName;
+    this.pendingTargetName = pendingTargetName;
+    this.canUseRune2h = canUseRune2h;
+    this.lastBowHitTick = lastBowHitTick;
+    this.lastBowAttackTick = lastBowAttackTick;
+  }
+
+  /**
+   * Captures the current state of the domain components, must be called from the script thread
+   */
+  static DomainSnapshot capture(Timers timers, State state, TargetTracker targets, WeaponTracker weapons) {
+    return new DomainSnapshot(
+        timers.now(),
+        timers.getLastAnimationTick(),
+        state.getLastAnimation(),
+        state.getCurrentState(),
+        state.isNeedToAttack(),
+        state.isNeedToEquipBow(),
+        targets.getTargetName(),
+        targets.getPendingTargetName(),
+        weapons.canUseRune2h(),
+        weapons.getLastBowHitTick(),
+        weapons.getLastBowAttackTick()
+    );
+  }
+
+  /**
+   * Checks if the player has been idle for at least the specified number of ticks
+   */
+  public boolean isIdle(int ticksThreshold) {
+    return tick - lastAnimationTick >= ticksThreshold;
+  }
+
+  /**
+   * Checks if the action is active as of this snapshot
+   */
+  public boolean isActive(Action action) {
+    return lastAnimation == action.getAnimation() && !isIdle(action.getTickDuration());
+  }
+
+  public int getTick() {
+    return tick;
+  }
+
+  public int getLastAnimationTick() {
+    return lastAnimationTick;
+  }
+
+  public int getLastAnimation() {
+    return lastAnimation;
+  }
+
+  public State.BotState getCurrentState() {
+    return currentState;
+  }
+
+  public boolean isNeedToAttack() {
+    return needToAttack;
+  }
+
+  public boolean isNeedToEquipBow() {
+    return needToEquipBow;
+  }
+
+  public String getTargetName() {
+    return targetName;
+  }
+
+  public String getPendingTargetName() {
+    return pendingTargetName;
+  }
+
+  public boolean canUseRune2h() {
+    return canUseRune2h;
+  }
+
+  public int getLastBowHitTick() {
+    return lastBowHitTick;
+  }
+
+  public int getLastBowAttackTick() {
+    return lastBowAttackTick;
+  }
+}
@@ -0,0 +1,196 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import org.rspeer.commons.logging.Log;
+import org.rspeer.game.component.tdi.Skill;
+import main.java.org.rspeer.scripts.f2ppker.domain.config.Config;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the events applied to the {@link Domain} to a compact binary log that can be fed
+ * back through an {@link EventReplayer}.
+ *
+ * The log starts with {@link #MAGIC} and {@link #VERSION}, followed by records made of a type byte
+ * and its payload. Consecutive ticks are collapsed into a single run, animations are stored as a delta
+ * from the previous animation and player names are interned into a string table on first use.
+ * All integers are written as unsigned varints, signed values are zigzag encoded first.
+ *
+ * Config events arrive on the dispatcher thread while everything else is applied on the script thread,
+ * so writes are synchronized.
+ */
+class EventRecorder implements AutoCloseable {
+
+  static final int MAGIC = 0x57544556;
+  static final int VERSION = 3;
+
+  static final int TICKS = 0;
+  static final int ANIMATION = 1;
+  static final int MESSAGE = 2;
+  static final int SKILL = 3;
+  static final int HITSPLAT = 4;
+  static final int CONFIG = 5;
+  static final int PLAYER_ANIMATION = 6;
+
+  private final DataOutputStream output;
+
+  /** Player names already written, mapped to their index in the string table **/
+  private final Map<String, Integer> names = new HashMap<>();
+
+  /** Ticks applied since the last non-tick record, written as a single run **/
+  private int ticks;
+  private int animation;
+  private boolean failed;
+
+  EventRecorder(OutputStream output) throws IOException {
+    this.output = new DataOutputStream(new BufferedOutputStream(output));
+    this.output.writeInt(MAGIC);
+    this.output.writeByte(VERSION);
+  }
+
+  synchronized void tick() {
+    ticks++;
+  }
+
+  synchronized void animation(int animation) {
+    try {
+      begin(ANIMATION);
+      writeSigned(animation - this.animation);
+      this.animation = animation;
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void message(String contents) {
+    try {
+      begin(MESSAGE);
+      writeString(contents);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void skill(Skill skill, int change) {
+    try {
+      begin(SKILL);
+      writeVarInt(skill.ordinal());
+      writeSigned(change);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Writes the index of the name in the string table, offset by one so that 0 denotes a non-player source.
+   * A name that is not in the table yet is written as the next index followed by the name itself.
+   */
+  synchronized void hitsplat(String name, int damage) {
+    try {
+      begin(HITSPLAT);
+      writeName(name);
+      writeVarInt(damage);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Writes the player's name the same way as {@link #hitsplat(String, int)}, followed by the animation
+   */
+  synchronized void playerAnimation(String name, int animation) {
+    try {
+      begin(PLAYER_ANIMATION);
+      writeName(name);
+      writeVarInt(animation);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void config(Config config) {
+    try {
+      begin(CONFIG);
+      output.writeBoolean(config.isUseSpecialAttack());
+      writeSigned(config.getMinHealthToEat());
+      writeSigned(config.getMaxCombatLevel());
+      writeSigned(config.getMinCombatLevel());
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      flushTicks();
+    } finally {
+      output.close();
+    }
+  }
+
+  private void begin(int type) throws IOException {
+    if (failed) {
+      throw new IOException("Recording already failed");
+    }
+
+    flushTicks();
+    output.writeByte(type);
+  }
+
+  private void flushTicks() throws IOException {
+    if (ticks > 0 && !failed) {
+      output.writeByte(TICKS);
+      writeVarInt(ticks);
+      ticks = 0;
+    }
+  }
+
+  private void writeName(String name) throws IOException {
+    if (name == null) {
+      writeVarInt(0);
+      return;
+    }
+
+    Integer index = names.get(name);
+    if (index != null) {
+      writeVarInt(index + 1);
+      return;
+    }
+
+    index = names.size();
+    names.put(name, index);
+    writeVarInt(index + 1);
+    writeString(name);
+  }
+
+  private void writeString(String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private void writeSigned(int value) throws IOException {
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  private void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      output.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    output.writeByte(value);
+  }
+
+  private void fail(IOException e) {
+    if (!failed) {
+      failed = true;
+      Log.severe("EventRecorder: Recording stopped, " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import org.rspeer.game.component.tdi.Skill;
+import org.rspeer.scripts.wintertodt.api.gateway.FakeGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.GatewayModule;
+import main.java.org.rspeer.scripts.f2ppker.domain.config.ConfigBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds a log written by an {@link EventRecorder} back into a {@link Domain}, as fast as it can be decoded.
+ * Events are applied through the same stage the live event handlers use, so the domain components
+ * end up in the same state they were in when the log was recorded.
+ */
+public class EventReplayer {
+
+  private static final Skill[] SKILLS = Skill.values();
+
+  private final Domain domain;
+
+  @Inject
+  public EventReplayer(Domain domain) {
+    this.domain = domain;
+  }
+
+  /**
+   * Replays a recorded log into the domain
+   *
+   * @return The amount of events applied, each tick of a tick run counting as one
+   * @throws IOException If the log can't be read or is not a recording
+   */
+  public long replay(InputStream source) throws IOException {
+    DataInputStream input = new DataInputStream(new BufferedInputStream(source));
+    if (input.readInt() != EventRecorder.MAGIC) {
+      throw new IOException("Not an event recording");
+    }
+
+    int version = input.readUnsignedByte();
+    // Each version only adds record types, so older recordings can still be read
+    if (version < 1 || version > EventRecorder.VERSION) {
+      throw new IOException("Unsupported recording version " + version);
+    }
+
+    List<String> names = new ArrayList<>();
+    int animation = 0;
+    long applied = 0;
+
+    int type;
+    while ((type = input.read()) != -1) {
+      switch (type) {
+        case EventRecorder.TICKS: {
+          int ticks = readVarInt(input);
+          for (int i = 0; i < ticks; i++) {
+            domain.applyTick();
+          }
+          applied += ticks;
+          break;
+        }
+
+        case EventRecorder.ANIMATION:
+          animation += readSigned(input);
+          domain.applyAnimation(animation);
+          applied++;
+          break;
+
+        case EventRecorder.MESSAGE:
+          domain.applyMessage(readString(input));
+          applied++;
+          break;
+
+        case EventRecorder.SKILL: {
+          Skill skill = SKILLS[readVarInt(input)];
+          domain.applySkill(skill, readSigned(input));
+          applied++;
+          break;
+        }
+
+        case EventRecorder.HITSPLAT: {
+          String name = readName(input, names);
+          // Hitsplat damage was only recorded from version 3
+          domain.applyHitsplat(name, version >= 3 ? readVarInt(input) : 0);
+          applied++;
+          break;
+        }
+
+        case EventRecorder.PLAYER_ANIMATION: {
+          String name = readName(input, names);
+          domain.applyPlayerAnimation(name, readVarInt(input));
+          applied++;
+          break;
+        }
+
+        case EventRecorder.CONFIG: {
+          ConfigBuilder builder = new ConfigBuilder()
+              .useSpecialAttack(input.readBoolean())
+              .minHealthToEat(readSigned(input))
+              .maxCombatLevel(readSigned(input))
+              .minCombatLevel(readSigned(input));
+          domain.applyConfig(builder.build());
+          applied++;
+          break;
+        }
+
+        default:
+          throw new IOException("Unknown record type " + type);
+      }
+    }
+
+    return applied;
+  }
+
+  private static String readName(DataInputStream input, List<String> names) throws IOException {
+    int index = readVarInt(input) - 1;
+    if (index == names.size()) {
+      names.add(readString(input));
+    }
+    return index < 0 ? null : names.get(index);
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    byte[] bytes = new byte[readVarInt(input)];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int readSigned(DataInputStream input) throws IOException {
+    int value = readVarInt(input);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static int readVarInt(DataInputStream input) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = input.read();
+      if (b == -1) {
+        throw new EOFException("Truncated varint");
+      }
+
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * Replays a recording into a fresh domain without a game client and reports the throughput.
+   * Usage: EventReplayer &lt;recording&gt; [iterations]
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: EventReplayer <recording> [iterations]");
+      return;
+    }
+
+    Path path = Paths.get(args[0]);
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    byte[] recording = Files.readAllBytes(path);
+
+    for (int i = 0; i < iterations; i++) {
+      // Each iteration starts from a fresh domain so runs are independent of each other
+      Domain domain = Guice.createInjector(GatewayModule.fake(new FakeGateway())).getInstance(Domain.class);
+      EventReplayer replayer = new EventReplayer(domain);
+      domain.getJournal().start();
+
+      long start = System.nanoTime();
+      long events = replayer.replay(new ByteArrayInputStream(recording));
+      long elapsed = System.nanoTime() - start;
+
+      System.out.printf("Iteration %d: %d events in %.2f ms (%.0f events/sec)%n",
+          i + 1, events, elapsed / 1e6, events / (elapsed / 1e9));
+      domain.getJournal().close();
+    }
+  }
+}
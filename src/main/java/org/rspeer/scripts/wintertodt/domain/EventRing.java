@@ -0,0 +1,86 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded single-producer single-consumer queue used to hand events from the
+ * client's event dispatcher thread over to the script thread without locking.
+ * When the consumer falls behind and the ring is full, new events are dropped and counted.
+ */
+final class EventRing<E> {
+
+  private final Object[] buffer;
+  private final int mask;
+
+  /** Next slot to be read, only written by the consumer **/
+  private final AtomicLong head = new AtomicLong();
+
+  /** Next slot to be written, only written by the producer **/
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Producer-local copy of head, so the producer only reads the shared head when the ring looks full **/
+  private long headCache;
+
+  private volatile int dropped;
+
+  EventRing(int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two");
+    }
+
+    buffer = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Called by the producer thread only
+   *
+   * @return false if the ring was full and the element was dropped
+   */
+  boolean offer(E element) {
+    long position = tail.get();
+    if (position - headCache >= buffer.length) {
+      headCache = head.get();
+      if (position - headCache >= buffer.length) {
+        dropped++;
+        return false;
+      }
+    }
+
+    buffer[(int) position & mask] = element;
+    tail.lazySet(position + 1);
+    return true;
+  }
+
+  /**
+   * Called by the consumer thread only, hands every published element to the consumer in order
+   *
+   * @return The amount of elements drained
+   */
+  @SuppressWarnings("unchecked")
+  int drain(Consumer<? super E> consumer) {
+    long position = head.get();
+    long limit = tail.get();
+    int count = 0;
+    while (position < limit) {
+      int index = (int) position & mask;
+      E element = (E) buffer[index];
+      buffer[index] = null;
+      consumer.accept(element);
+      position++;
+      count++;
+    }
+
+    head.lazySet(position);
+    return count;
+  }
+
+  int size() {
+    return (int) (tail.get() - head.get());
+  }
+
+  int getDropped() {
+    return dropped;
+  }
+}
@@ -0,0 +1,237 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import main.java.org.rspeer.scripts.f2ppker.data.WeaponClass;
+import org.rspeer.game.Vars;
+import org.rspeer.game.component.tdi.Skill;
+import org.rspeer.scripts.wintertodt.api.gateway.VarGateway;
+
+import java.util.Objects;
+
+/**
+ * Continuously estimates the hitpoints of our target as a mean and a variance, fusing every source we have.
+ * Observations made during a tick are collected and folded into the estimate on the next tick:
+ * <ul>
+ *   <li>Hitsplats on the target are exact damage, and also cover damage dealt by other players</li>
+ *   <li>Without a hitsplat, our Hitpoints or Ranged XP drop for the tick gives our damage to within rounding</li>
+ *   <li>Each eat animation of the target heals by an uncertain amount</li>
+ *   <li>The opponent hitpoints varbit, when shown, replaces the estimate outright</li>
+ * </ul>
+ * From the estimate, the chance of the next bow or 2H hit knocking the target out is derived,
+ * so the 2H switch can wait for the tick it is most likely to finish the fight on.
+ */
+@Singleton
+public class HitpointsEstimator {
+  private static final int HITPOINTS_VARBIT = 6099;
+
+  /** Prior for a new target, roughly a mid-level F2P account, with a wide spread **/
+  private static final double DEFAULT_HITPOINTS = 40;
+  private static final double DEFAULT_VARIANCE = 15 * 15;
+
+  private static final double VARBIT_VARIANCE = 0.25;
+  private static final double XP_VARIANCE = 1;
+
+  /** Swordfish, with a spread covering everything from trout to swordfish **/
+  private static final double FOOD_HEAL = 14;
+  private static final double FOOD_VARIANCE = 4 * 4;
+
+  private static final double BOW_ACCURACY = 0.55;
+  private static final double TWO_HANDED_ACCURACY = 0.45;
+
+  /** KO chance the 2H hit needs before it is worth switching for **/
+  private static final double MIN_TWO_HANDED_KO = 0.35;
+
+  private final TargetTracker targets;
+  private final VarGateway vars;
+
+  private String target;
+  private double mean = DEFAULT_HITPOINTS;
+  private double variance = DEFAULT_VARIANCE;
+
+  /** Highest hitpoints the varbit has shown for the target, 0 if it hasn't been shown **/
+  private int maximum;
+
+  // Observations made during the current tick
+  private int hitsplatDamage;
+  private int hitsplats;
+  private int rangedXp;
+  private int hitpointsXp;
+  private int eats;
+
+  @Inject
+  public HitpointsEstimator(TargetTracker targets, VarGateway vars) {
+    this.targets = targets;
+    this.vars = vars;
+  }
+
+  /**
+   * Called on each game tick to fold the observations of the previous tick into the estimate
+   */
+  void tick() {
+    String target = targets.getTargetName();
+    if (!Objects.equals(target, this.target)) {
+      reset(target);
+      return;
+    }
+
+    if (target == null) {
+      return;
+    }
+
+    fuseDamage();
+    fuseEats();
+
+    int shown = vars.get(Vars.Type.VARBIT, HITPOINTS_VARBIT);
+    if (shown > 0) {
+      mean = shown;
+      variance = VARBIT_VARIANCE;
+      maximum = Math.max(maximum, shown);
+    }
+
+    clearObservations();
+  }
+
+  /**
+   * Called for every XP drop, only Ranged and Hitpoints are used
+   */
+  void skill(Skill skill, int change) {
+    if (change <= 0) {
+      return;
+    }
+
+    if (skill == Skill.HITPOINTS) {
+      hitpointsXp += change;
+    } else if (skill == Skill.RANGED) {
+      rangedXp += change;
+    }
+  }
+
+  /**
+   * Called for every hitsplat on the target
+   */
+  void hitsplat(int damage) {
+    hitsplatDamage += damage;
+    hitsplats++;
+  }
+
+  /**
+   * Called when the target performs an eat animation
+   */
+  void eat() {
+    eats++;
+  }
+
+  private void fuseDamage() {
+    double damage;
+    double uncertainty;
+    if (hitsplats > 0) {
+      damage = hitsplatDamage;
+      uncertainty = 0;
+    } else if (hitpointsXp > 0) {
+      // Hitpoints XP is a third of the 4 XP per damage of the combat skill, whichever style was used
+      damage = Math.round(hitpointsXp * 3 / 4.0);
+      uncertainty = XP_VARIANCE;
+    } else if (rangedXp > 0) {
+      damage = rangedXp / 4;
+      uncertainty = XP_VARIANCE;
+    } else {
+      return;
+    }
+
+    mean = Math.max(0, mean - damage);
+    variance += uncertainty;
+  }
+
+  private void fuseEats() {
+    if (eats == 0) {
+      return;
+    }
+
+    mean += FOOD_HEAL * eats;
+    if (maximum > 0) {
+      mean = Math.min(mean, maximum);
+    }
+    variance += FOOD_VARIANCE * eats;
+  }
+
+  private void reset(String target) {
+    this.target = target;
+    mean = DEFAULT_HITPOINTS;
+    variance = DEFAULT_VARIANCE;
+    maximum = 0;
+    clearObservations();
+  }
+
+  private void clearObservations() {
+    hitsplatDamage = 0;
+    hitsplats = 0;
+    rangedXp = 0;
+    hitpointsXp = 0;
+    eats = 0;
+  }
+
+  /**
+   * @return The estimated hitpoints of the target
+   */
+  public double getEstimate() {
+    return mean;
+  }
+
+  /**
+   * A prior for a player we have no observations of, assuming every combat stat is at the same level.
+   * With all stats at L the combat level is 0.25 * (L + L + L / 2) + 0.325 * 2L, or 1.275L.
+   *
+   * @return The expected hitpoints of a player of the given combat level
+   */
+  public static double getPrior(int combatLevel) {
+    return Math.max(10, combatLevel / 1.275);
+  }
+
+  /**
+   * @return How certain the estimate is, from 1 when it was just read from the varbit towards 0 as it drifts
+   */
+  public double getConfidence() {
+    return 1 / (1 + Math.sqrt(variance));
+  }
+
+  public double getBowKoChance() {
+    return getKoChance(BOW_ACCURACY, WeaponClass.BOW.getMaxHit());
+  }
+
+  public double getTwoHandedKoChance() {
+    return getKoChance(TWO_HANDED_ACCURACY, WeaponClass.TWO_HANDED.getMaxHit());
+  }
+
+  /**
+   * @return Whether the next 2H hit is likely enough to knock the target out, and more so than the next bow hit
+   */
+  public boolean isTwoHandedKoLikely() {
+    double twoHanded = getTwoHandedKoChance();
+    return twoHanded >= MIN_TWO_HANDED_KO && twoHanded > getBowKoChance();
+  }
+
+  /**
+   * The chance a single attack deals at least the target's hitpoints, with damage uniform from 0 to the max hit
+   * on a successful hit, weighed over a normal distribution of the target's hitpoints clamped to 3 deviations.
+   */
+  private double getKoChance(double accuracy, int maxHit) {
+    double deviation = Math.sqrt(variance);
+    int low = Math.max(1, (int) Math.floor(mean - 3 * deviation));
+    int high = Math.max(low, (int) Math.ceil(mean + 3 * deviation));
+
+    double total = 0;
+    double knockout = 0;
+    for (int hitpoints = low; hitpoints <= high; hitpoints++) {
+      double weight = deviation < 0.5
+          ? (hitpoints == Math.max(1, Math.round(mean)) ? 1 : 0)
+          : Math.exp(-(hitpoints - mean) * (hitpoints - mean) / (2 * variance));
+      total += weight;
+      if (hitpoints <= maxHit) {
+        knockout += weight * accuracy * (maxHit - hitpoints + 1) / (maxHit + 1);
+      }
+    }
+
+    return total > 0 ? knockout / total : 0;
+  }
+}
@@ -0,0 +1,172 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.commons.logging.Log;
+import org.rspeer.game.adapter.component.inventory.Inventory;
+import org.rspeer.game.component.Item;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+
+import java.util.Arrays;
+
+/**
+ * Running counts of the backpack items the tasks care about.
+ * The backpack is diffed slot by slot against the previous tick on the first read of each tick,
+ * and only slots whose item changed adjust the counts, so every read after that is a single array lookup.
+ * With -Dwintertodt.debug set, each refresh is checked against a full rescan.
+ */
+@Singleton
+public class InventoryCounters {
+  private static final int SLOTS = 28;
+  private static final int EMPTY = -1;
+  private static final boolean DEBUG = Boolean.getBoolean("wintertodt.debug");
+  private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+  private final InventoryGateway inventories;
+  private final Timers timers;
+
+  /** Item id in each slot as of the last refresh **/
+  private final int[] slots = new int[SLOTS];
+  private final boolean[] seen = new boolean[SLOTS];
+
+  /** Amount of items in each category, indexed by ordinal **/
+  private final int[] counts = new int[CATEGORIES.length];
+
+  private int tick = -1;
+
+  /** Bumped whenever the item in any slot changes **/
+  private int version;
+
+  @Inject
+  public InventoryCounters(InventoryGateway inventories, Timers timers) {
+    this.inventories = inventories;
+    this.timers = timers;
+    Arrays.fill(slots, EMPTY);
+  }
+
+  /**
+   * Forces the next read to refresh, for callers that changed the backpack earlier in the same tick
+   */
+  public void invalidate() {
+    tick = -1;
+  }
+
+  private void refresh() {
+    int now = timers.now();
+    if (now == tick) {
+      return;
+    }
+
+    tick = now;
+    Inventory backpack = inventories.backpack();
+    if (backpack == null) {
+      return;
+    }
+
+    Arrays.fill(seen, false);
+    for (Item item : backpack.query().results()) {
+      int slot = item.getIndex();
+      if (slot >= 0 && slot < SLOTS) {
+        seen[slot] = true;
+        update(slot, item.getId());
+      }
+    }
+
+    for (int slot = 0; slot < SLOTS; slot++) {
+      if (!seen[slot]) {
+        update(slot, EMPTY);
+      }
+    }
+
+    if (DEBUG) {
+      verify(backpack);
+    }
+  }
+
+  private void update(int slot, int id) {
+    int previous = slots[slot];
+    if (previous == id) {
+      return;
+    }
+
+    if (previous != EMPTY) {
+      adjust(ItemClassifier.getMask(previous), -1);
+    }
+
+    if (id != EMPTY) {
+      adjust(ItemClassifier.getMask(id), 1);
+    }
+
+    slots[slot] = id;
+    version++;
+  }
+
+  private void adjust(int mask, int delta) {
+    for (ItemCategory category : CATEGORIES) {
+      if (category.isIn(mask)) {
+        counts[category.ordinal()] += delta;
+      }
+    }
+  }
+
+  private void verify(Inventory backpack) {
+    for (ItemCategory category : CATEGORIES) {
+      int expected = ItemClassifier.count(backpack, category);
+      int actual = counts[category.ordinal()];
+      if (expected != actual) {
+        Log.severe("InventoryCounters: " + category + " count is " + actual + " but a rescan found " + expected);
+        counts[category.ordinal()] = expected;
+      }
+    }
+  }
+
+  /**
+   * @return A value that changes whenever the backpack contents change, for components deriving state from it
+   */
+  public int getVersion() {
+    refresh();
+    return version;
+  }
+
+  /**
+   * @return The id of the item in the given slot, or -1 if the slot is empty
+   */
+  public int getId(int slot) {
+    refresh();
+    return slot >= 0 && slot < SLOTS ? slots[slot] : EMPTY;
+  }
+
+  public int getFreeSlots() {
+    refresh();
+    int free = 0;
+    for (int id : slots) {
+      if (id == EMPTY) {
+        free++;
+      }
+    }
+    return free;
+  }
+
+  public int getCount(ItemCategory category) {
+    refresh();
+    return counts[category.ordinal()];
+  }
+
+  public int getRoots() {
+    return getCount(ItemCategory.ROOT);
+  }
+
+  public int getKindling() {
+    return getCount(ItemCategory.KINDLING);
+  }
+
+  public int getFood() {
+    return getCount(ItemCategory.FOOD);
+  }
+
+  public int getJunk() {
+    return getCount(ItemCategory.JUNK);
+  }
+}
@@ -0,0 +1,113 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Singleton;
+import org.rspeer.commons.logging.Log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated ring of structured {@link JournalEvent}s.
+ * Recording an event only stores its id and primitive arguments, so call sites allocate nothing
+ * regardless of the log level. Messages are formatted and logged when a background thread flushes the ring.
+ * Events must only be recorded from the script thread, the flush thread is the only reader.
+ */
+@Singleton
+public class Journal {
+  private static final int CAPACITY = 4096;
+  private static final int MASK = CAPACITY - 1;
+  private static final long FLUSH_INTERVAL_MILLIS = 250;
+
+  private static final JournalEvent[] EVENTS = JournalEvent.values();
+
+  private final int[] events = new int[CAPACITY];
+  private final long[] firstArguments = new long[CAPACITY];
+  private final long[] secondArguments = new long[CAPACITY];
+
+  /** Next slot to be written by the script thread **/
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Next slot to be flushed by the flush thread **/
+  private final AtomicLong head = new AtomicLong();
+
+  private volatile int dropped;
+
+  private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Journal");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private boolean started;
+
+  /**
+   * Starts the flush thread, events recorded before are kept and logged by the first flush
+   */
+  public synchronized void start() {
+    if (started) {
+      return;
+    }
+
+    started = true;
+    flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  public void record(JournalEvent event) {
+    record(event, 0, 0);
+  }
+
+  public void record(JournalEvent event, long first) {
+    record(event, first, 0);
+  }
+
+  public void record(JournalEvent event, long first, long second) {
+    long position = tail.get();
+    if (position - head.get() >= CAPACITY) {
+      dropped++;
+      return;
+    }
+
+    int index = (int) position & MASK;
+    events[index] = event.ordinal();
+    firstArguments[index] = first;
+    secondArguments[index] = second;
+    tail.lazySet(position + 1);
+  }
+
+  /**
+   * Formats and logs every recorded event, runs on the flush thread
+   */
+  private synchronized void flush() {
+    long position = head.get();
+    long limit = tail.get();
+    while (position < limit) {
+      int index = (int) position & MASK;
+      JournalEvent event = EVENTS[events[index]];
+      String message = event.format(firstArguments[index], secondArguments[index]);
+      if (event.getSeverity() == JournalEvent.Severity.INFO) {
+        Log.info(message);
+      } else {
+        Log.fine(message);
+      }
+      position++;
+    }
+    head.lazySet(position);
+  }
+
+  /**
+   * @return The amount of events dropped because the ring was full
+   */
+  public int getDropped() {
+    return dropped;
+  }
+
+  /**
+   * Flushes the remaining events and stops the flush thread
+   */
+  public void close() {
+    flusher.shutdown();
+    flush();
+  }
+}
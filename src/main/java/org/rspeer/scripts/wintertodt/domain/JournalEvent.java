@@ -0,0 +1,88 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import main.java.org.rspeer.scripts.f2ppker.data.WeaponClass;
+import org.rspeer.scripts.wintertodt.data.Allocation;
+
+/**
+ * Structured events recorded into the {@link Journal}.
+ * Each event only carries up to two primitive arguments, its message is built by the
+ * formatter when the journal is flushed, on the journal's own thread.
+ */
+public enum JournalEvent {
+
+  BOW_ATTACK_DETECTED(Severity.FINE, (a, b) -> "Domain: Bow attack animation detected"),
+  TWO_HANDED_ATTACK_DETECTED(Severity.FINE, (a, b) -> "Domain: 2H attack animation detected"),
+
+  STATE_CHANGED(Severity.INFO, (a, b) -> "State: Changing from " + state(a) + " to " + state(b)),
+  STATE_RESUMED(Severity.INFO, (a, b) -> "State: Transitioning from EATING back to " + state(a)
+      + (b != 0 ? " (was in 2H), need to equip bow" : "")),
+  TWO_HANDED_TIMEOUT(Severity.INFO, (a, b) -> "State: 2H execution timeout, returning to RANGING"),
+  RETREAT_STARTED(Severity.INFO, (a, b) -> "State: Started retreating at tick " + a),
+
+  RANGED_SKILL_CHANGE(Severity.FINE, (a, b) -> "TargetTracker: Ranged skill change detected: "
+      + a + ", prediction valid: " + (b != 0)),
+  DAMAGE_PREDICTION_RESET(Severity.FINE, (a, b) -> "TargetTracker: Reset damage prediction values"),
+
+  TWO_HANDED_ATTACK_REGISTERED(Severity.FINE, (a, b) -> "WeaponTracker: Registered 2H attack"),
+  BOW_HIT_REGISTERED(Severity.FINE, (a, b) -> "WeaponTracker: Registered bow hit (damage) on tick " + a),
+  BOW_ATTACK_REGISTERED(Severity.FINE, (a, b) -> "WeaponTracker: Registered bow attack animation on tick " + a),
+  WEAPONS_RESET(Severity.FINE, (a, b) -> "WeaponTracker: Reset weapon state tracking"),
+
+  ALLOCATION_CHANGED(Severity.INFO, (a, b) -> "Planner: Switching to " + allocation(a)
+      + " (" + reason(a) + "), about " + b + " ticks left in the game"),
+
+  THREAT_STARTED(Severity.INFO, (a, b) -> "ThreatTracker: Attacked with " + weapon(a) + ", " + b + " attacker(s)"),
+  THREATS_CLEARED(Severity.INFO, (a, b) -> "ThreatTracker: No longer under attack"),
+
+  SWITCH_COMPLETED(Severity.FINE, (a, b) -> "SwitchPipeline: Attacked with " + weapon(a) + ", " + b + " tick(s) lost"),
+  SWITCH_TIMED_OUT(Severity.INFO, (a, b) -> "SwitchPipeline: No " + weapon(a) + " attack after " + b + " ticks");
+
+  private static final State.BotState[] STATES = State.BotState.values();
+  private static final Allocation[] ALLOCATIONS = Allocation.values();
+  private static final Allocation.Reason[] REASONS = Allocation.Reason.values();
+  private static final WeaponClass[] WEAPONS = WeaponClass.values();
+
+  private final Severity severity;
+  private final Formatter formatter;
+
+  JournalEvent(Severity severity, Formatter formatter) {
+    this.severity = severity;
+    this.formatter = formatter;
+  }
+
+  private static State.BotState state(long ordinal) {
+    return STATES[(int) ordinal];
+  }
+
+  /**
+   * Allocations are recorded with the allocation ordinal in the second byte and the reason ordinal in the first
+   */
+  private static Allocation allocation(long packed) {
+    return ALLOCATIONS[(int) (packed >> 8)];
+  }
+
+  private static Allocation.Reason reason(long packed) {
+    return REASONS[(int) (packed & 0xFF)];
+  }
+
+  private static WeaponClass weapon(long ordinal) {
+    return WEAPONS[(int) ordinal];
+  }
+
+  Severity getSeverity() {
+    return severity;
+  }
+
+  String format(long first, long second) {
+    return formatter.format(first, second);
+  }
+
+  enum Severity {
+    FINE,
+    INFO
+  }
+
+  private interface Formatter {
+    String format(long first, long second);
+  }
+}
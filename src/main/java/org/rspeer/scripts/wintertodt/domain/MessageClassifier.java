@@ -0,0 +1,105 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import java.util.Arrays;
+
+/**
+ * Aho-Corasick automaton over every {@link MessageType} pattern.
+ * A message is scanned once, lowercasing characters as they are read, and yields
+ * a mask of every matched type without allocating. Patterns are expected to be ASCII,
+ * any other character in a message simply restarts matching.
+ */
+final class MessageClassifier {
+
+  private static final int ALPHABET = 128;
+
+  /** Complete transition table of the automaton, indexed by node * ALPHABET + character **/
+  private final int[] transitions;
+
+  /** Mask of the message types matched on reaching each node, including those reached through failure links **/
+  private final int[] outputs;
+
+  MessageClassifier(MessageType... types) {
+    int capacity = 1;
+    for (MessageType type : types) {
+      for (String pattern : type.getPatterns()) {
+        capacity += pattern.length();
+      }
+    }
+
+    int[] transitions = new int[capacity * ALPHABET];
+    int[] outputs = new int[capacity];
+    Arrays.fill(transitions, -1);
+
+    int nodes = 1;
+    for (MessageType type : types) {
+      for (String pattern : type.getPatterns()) {
+        int node = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+          int index = node * ALPHABET + lower(pattern.charAt(i));
+          if (transitions[index] == -1) {
+            transitions[index] = nodes++;
+          }
+          node = transitions[index];
+        }
+        outputs[node] |= type.getMask();
+      }
+    }
+
+    //Breadth first, resolve failure links into the transition table so scanning never backtracks
+    int[] failures = new int[nodes];
+    int[] queue = new int[nodes];
+    int head = 0;
+    int tail = 0;
+    for (int c = 0; c < ALPHABET; c++) {
+      int child = transitions[c];
+      if (child == -1) {
+        transitions[c] = 0;
+      } else {
+        failures[child] = 0;
+        queue[tail++] = child;
+      }
+    }
+
+    while (head < tail) {
+      int node = queue[head++];
+      outputs[node] |= outputs[failures[node]];
+      for (int c = 0; c < ALPHABET; c++) {
+        int index = node * ALPHABET + c;
+        int fallback = transitions[failures[node] * ALPHABET + c];
+        int child = transitions[index];
+        if (child == -1) {
+          transitions[index] = fallback;
+        } else {
+          failures[child] = fallback;
+          queue[tail++] = child;
+        }
+      }
+    }
+
+    this.transitions = Arrays.copyOf(transitions, nodes * ALPHABET);
+    this.outputs = Arrays.copyOf(outputs, nodes);
+  }
+
+  private static int lower(char c) {
+    return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+  }
+
+  /**
+   * @return A mask of every {@link MessageType} found in the text, 0 if none matched
+   */
+  int classify(CharSequence text) {
+    int node = 0;
+    int types = 0;
+    for (int i = 0; i < text.length(); i++) {
+      int c = lower(text.charAt(i));
+      if (c >= ALPHABET) {
+        node = 0;
+        continue;
+      }
+
+      node = transitions[node * ALPHABET + c];
+      types |= outputs[node];
+    }
+    return types;
+  }
+}
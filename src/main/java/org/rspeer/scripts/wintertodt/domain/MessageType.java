@@ -0,0 +1,41 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+/**
+ * Registry of the game messages the domain reacts to.
+ * Every pattern is matched case-insensitively anywhere in the message by the {@link MessageClassifier}.
+ */
+public enum MessageType {
+
+  /** Eating, drinking or healing, which interrupts the current animation */
+  EAT("you eat", "health points", "heals", "restore"),
+
+  /** The player we tried to attack is already fighting someone else */
+  TARGET_BUSY("is fighting another player"),
+
+  PLAYER_DIED("died"),
+
+  DISCONNECTED("you have been disconnected", "your session has expired");
+
+  private final String[] patterns;
+  private final int mask = 1 << ordinal();
+
+  MessageType(String... patterns) {
+    this.patterns = patterns;
+  }
+
+  String[] getPatterns() {
+    return patterns;
+  }
+
+  public int getMask() {
+    return mask;
+  }
+
+  /**
+   * @param types A mask of message types as returned by the {@link MessageClassifier}
+   * @return true if this type is part of the mask
+   */
+  public boolean isIn(int types) {
+    return (types & mask) != 0;
+  }
+}
@@ -0,0 +1,152 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import main.java.org.rspeer.scripts.f2ppker.data.Constant;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.component.Item;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tick-scoped index over the players in the scene, built with a single query on first use each tick.
+ * Holds the players by name and how many players are targeting each of them,
+ * so target searches don't need a nested query per candidate.
+ * Heavy armor is matched once per player as the index is built, and kept in an array beside the player.
+ */
+@Singleton
+public class PlayerIndex {
+  private static final String[] ARMOR_KEYWORDS = Constant.EQUIPMENT_KEYWORDS.toArray(new String[0]);
+
+  private final PlayerGateway gateway;
+
+  /** Incremented every tick, the index is rebuilt when it was built for an older generation **/
+  private int generation = 1;
+  private int builtGeneration;
+
+  private final List<Player> players = new ArrayList<>();
+  private final Map<String, Integer> indices = new HashMap<>();
+  private final Map<String, Integer> targetedBy = new HashMap<>();
+
+  /** Matched {@link #ARMOR_KEYWORDS} of each player by index, bit i for keyword i **/
+  private int[] armor = new int[64];
+
+  @Inject
+  public PlayerIndex(PlayerGateway gateway) {
+    this.gateway = gateway;
+  }
+
+  /**
+   * Called on each game tick to invalidate the index built during the previous tick
+   */
+  void tick() {
+    generation++;
+  }
+
+  private void refresh() {
+    if (builtGeneration == generation) {
+      return;
+    }
+
+    builtGeneration = generation;
+    players.clear();
+    indices.clear();
+    targetedBy.clear();
+    for (Player player : gateway.all()) {
+      int index = players.size();
+      if (index == armor.length) {
+        armor = Arrays.copyOf(armor, index * 2);
+      }
+
+      indices.put(player.getName(), index);
+      players.add(player);
+      armor[index] = match(player);
+
+      Object target = player.getTarget();
+      if (target instanceof Player) {
+        targetedBy.merge(((Player) target).getName(), 1, Integer::sum);
+      }
+    }
+  }
+
+  /**
+   * @return Our own player, or null if we aren't logged in
+   */
+  public Player self() {
+    return gateway.self();
+  }
+
+  /**
+   * @return Every player in the scene this tick, including ourselves
+   */
+  public List<Player> getPlayers() {
+    refresh();
+    return Collections.unmodifiableList(players);
+  }
+
+  /**
+   * @return The player with the given name this tick, or null if they aren't in the scene
+   */
+  public Player get(String name) {
+    if (name == null) {
+      return null;
+    }
+
+    refresh();
+    Integer index = indices.get(name);
+    return index != null ? players.get(index) : null;
+  }
+
+  /**
+   * @return The amount of players targeting the given player this tick
+   */
+  public int getTargetedByCount(Player player) {
+    refresh();
+    return targetedBy.getOrDefault(player.getName(), 0);
+  }
+
+  public boolean isTargeted(Player player) {
+    return getTargetedByCount(player) > 0;
+  }
+
+  /**
+   * @return Mask of the heavy armor keywords matched by the player's worn items, 0 if none or unknown
+   */
+  public int getArmorMask(Player player) {
+    refresh();
+    Integer index = indices.get(player.getName());
+    if (index == null) {
+      //Not in the scene this tick, so there is nowhere to keep the mask
+      return match(player);
+    }
+
+    return armor[index];
+  }
+
+  public boolean isWearingHeavyArmor(Player player) {
+    return getArmorMask(player) != 0;
+  }
+
+  private static int match(Player player) {
+    if (player.getAppearance() == null) {
+      return 0;
+    }
+
+    int mask = 0;
+    for (Item item : player.getAppearance().query().results()) {
+      String name = item.getName();
+      for (int i = 0; i < ARMOR_KEYWORDS.length; i++) {
+        if (name.contains(ARMOR_KEYWORDS[i])) {
+          mask |= 1 << i;
+        }
+      }
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,163 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.component.inventory.Equipment;
+import org.rspeer.game.component.Item;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.Requirement;
+import main.java.org.rspeer.scripts.f2ppker.domain.config.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracks which {@link Requirement}s are currently carried as a bitmask.
+ * The mask is only recomputed when the backpack, equipment or config changed since the last check,
+ * so repeated readiness checks within and across ticks are a mask comparison.
+ */
+@Singleton
+public class Readiness {
+  private static final Requirement[] REQUIREMENTS = Requirement.values();
+
+  private final Config config;
+  private final InventoryCounters inventory;
+  private final InventoryGateway inventories;
+  private final Timers timers;
+
+  private int tick = -1;
+  private int backpackVersion = -1;
+  private int equipmentSignature;
+  private int configSignature;
+
+  /** Categories of the items currently worn **/
+  private int worn;
+
+  /** Requirements currently carried, and those the config asks for **/
+  private int present;
+  private int required;
+
+  private List<Requirement> missing = Collections.emptyList();
+
+  @Inject
+  public Readiness(Config config, InventoryCounters inventory, InventoryGateway inventories, Timers timers) {
+    this.config = config;
+    this.inventory = inventory;
+    this.inventories = inventories;
+    this.timers = timers;
+  }
+
+  /**
+   * @return Whether every requirement for a Wintertodt game is carried
+   */
+  public boolean isReady() {
+    return isSatisfied(Requirement.WINTERTODT);
+  }
+
+  /**
+   * @return Whether the bow, 2h and food for a PK trip are carried
+   */
+  public boolean isPkReady() {
+    return isSatisfied(Requirement.PK);
+  }
+
+  /**
+   * @return The Wintertodt requirements that aren't carried, in declaration order
+   */
+  public List<Requirement> missingItems() {
+    refresh();
+    return missing;
+  }
+
+  /**
+   * @return A mask of the requirements currently carried
+   */
+  public int getPresent() {
+    refresh();
+    return present;
+  }
+
+  private boolean isSatisfied(int requirements) {
+    refresh();
+    int needed = required & requirements;
+    return (present & needed) == needed;
+  }
+
+  private void refresh() {
+    int now = timers.now();
+    if (now == tick) {
+      return;
+    }
+
+    tick = now;
+    boolean changed = false;
+
+    int version = inventory.getVersion();
+    if (version != backpackVersion) {
+      backpackVersion = version;
+      changed = true;
+    }
+
+    int signature = getEquipmentSignature();
+    if (signature != equipmentSignature) {
+      equipmentSignature = signature;
+      changed = true;
+    }
+
+    int settings = getConfigSignature();
+    if (settings != configSignature) {
+      configSignature = settings;
+      changed = true;
+    }
+
+    if (changed) {
+      recompute();
+    }
+  }
+
+  /**
+   * Folds the worn item ids into a signature, and collects their categories along the way
+   */
+  private int getEquipmentSignature() {
+    Equipment equipment = inventories.equipment();
+    int signature = 1;
+    int worn = 0;
+    if (equipment != null) {
+      for (Item item : equipment.query().results()) {
+        signature = 31 * signature + item.getId();
+        worn |= ItemClassifier.getMask(item.getId());
+      }
+    }
+
+    this.worn = worn;
+    return signature;
+  }
+
+  private int getConfigSignature() {
+    return 31 * Boolean.hashCode(config.isFletch()) + config.getFoodAmount();
+  }
+
+  private void recompute() {
+    int present = 0;
+    int required = 0;
+    List<Requirement> missing = new ArrayList<>();
+    for (Requirement requirement : REQUIREMENTS) {
+      if (requirement.isRequired(config)) {
+        required |= requirement.getMask();
+      }
+
+      boolean worn = requirement.isWearable() && requirement.getCategory().isIn(this.worn);
+      if (worn || inventory.getCount(requirement.getCategory()) >= requirement.getAmount(config)) {
+        present |= requirement.getMask();
+      } else if (requirement.isRequired(config) && (Requirement.WINTERTODT & requirement.getMask()) != 0) {
+        missing.add(requirement);
+      }
+    }
+
+    this.present = present;
+    this.required = required;
+    this.missing = Collections.unmodifiableList(missing);
+  }
+}
@@ -0,0 +1,66 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+/**
+ * Publishes the {@link DomainSnapshot} through a volatile reference.
+ * The state, target and weapon trackers republish after each change made on the script thread,
+ * while a drain batches every change it applies into a single snapshot published at its end.
+ */
+final class SnapshotPublisher {
+
+  private final Timers timers;
+  private final State state;
+  private final TargetTracker targets;
+  private final WeaponTracker weapons;
+
+  private volatile DomainSnapshot snapshot = DomainSnapshot.EMPTY;
+
+  /** Whether a drain is applying events, and whether anything changed while it was **/
+  private boolean batching;
+  private boolean pending;
+
+  SnapshotPublisher(Timers timers, State state, TargetTracker targets, WeaponTracker weapons) {
+    this.timers = timers;
+    this.state = state;
+    this.targets = targets;
+    this.weapons = weapons;
+    state.setPublisher(this::publish);
+    targets.setPublisher(this::publish);
+    weapons.setPublisher(this::publish);
+  }
+
+  /**
+   * Holds back publishing until {@link #end(boolean)}, must be called from the script thread
+   */
+  void begin() {
+    batching = true;
+  }
+
+  /**
+   * Publishes once for the whole batch if anything changed during it
+   *
+   * @param changed Whether the batch changed anything the trackers didn't report, such as the tick
+   */
+  void end(boolean changed) {
+    batching = false;
+    if (changed || pending) {
+      pending = false;
+      snapshot = DomainSnapshot.capture(timers, state, targets, weapons);
+    }
+  }
+
+  /**
+   * Recaptures the snapshot, or defers it to the end of the current batch
+   */
+  void publish() {
+    if (batching) {
+      pending = true;
+      return;
+    }
+
+    snapshot = DomainSnapshot.capture(timers, state, targets, weapons);
+  }
+
+  DomainSnapshot get() {
+    return snapshot;
+  }
+}
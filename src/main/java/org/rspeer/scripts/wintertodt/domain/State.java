@@ -31,7 +31,9 @@ public class State {
   private BotState currentState = BotState.IDLE;
   private BotState stateBeforeEating = BotState.IDLE;
   private int lastAnimation = -1;
-  private int stateTickCounter = 0;
+
+  /** Handle of the timeout scheduled for the current state, if any **/
+  private int stateTimeout = -1;
 
   // State-related flags
   private boolean needToAttack = false;
@@ -41,81 +43,67 @@ public class State {
   private boolean needsBanking = false;
   private boolean restoringPrayer = false;
   private int retreatStartTime = -1;
+  private boolean combatCooldownElapsed = false;
+  private int combatCooldown = -1;
 
   // Timing constants
   private static final int EATING_ANIMATION_DURATION = 3;
   private static final int MAX_2H_EXECUTION_TICKS = 5;
   private static final int COMBAT_COOLDOWN_SECONDS = 10;
+  // Each tick is roughly 0.6 seconds, so convert seconds to ticks
+  private static final int COMBAT_COOLDOWN_TICKS = (int) (COMBAT_COOLDOWN_SECONDS / 0.6);
+
+  /** Set by the {@link SnapshotPublisher}, run after each change to a field the snapshot captures **/
+  private Runnable publisher = () -> {};
 
   // Injected dependencies
   private final Timers timers;
   private final TargetTracker targetTracker;
+  private final Journal journal;
+
+  // Preallocated timeout callbacks, so scheduling them never allocates
+  private final Runnable eatingTimeout = this::handleEatingTimeout;
+  private final Runnable twoHandedTimeout = this::handle2HTimeout;
+  private final Runnable combatCooldownTimeout = () -> {
+    combatCooldownElapsed = true;
+    combatCooldown = -1;
+  };
 
   @Inject
-  public State(Timers timers, TargetTracker targetTracker) {
+  public State(Timers timers, TargetTracker targetTracker, Journal journal) {
     this.timers = timers;
     this.targetTracker = targetTracker;
+    this.journal = journal;
   }
 
-  /**
-   * Called every game tick to update state
-   */
-  public void tick() {
-    // Increment the state tick counter
-    stateTickCounter++;
-
-    // Handle automatic state transitions based on tick counter
-    switch (currentState) {
-      case EATING:
-        handleEatingStateTick();
-        break;
-
-      case EXECUTING_2H:
-        handle2HStateTick();
-        break;
-
-      // Add other state-specific tick handling as needed
-    }
-  }
-
-  private void handleEatingStateTick() {
-    // After being in EATING state for a few ticks, transition back
-    if (stateTickCounter >= EATING_ANIMATION_DURATION) {
-      // Return to the state we were in before eating
-      if (stateBeforeEating == BotState.EXECUTING_2H) {
-        Log.info("State: Transitioning from EATING back to RANGING (was in 2H), need to equip bow");
-        currentState = BotState.RANGING;
-        needToEquipBow = true;
-        needToAttack = true;
-      } else if (stateBeforeEating == BotState.RETREATING) {
-        Log.info("State: Transitioning from EATING back to RETREATING");
-        currentState = BotState.RETREATING;
-      } else if (stateBeforeEating == BotState.LOOTING) {
-        Log.info("State: Transitioning from EATING back to LOOTING");
-        currentState = BotState.LOOTING;
-      } else if (targetTracker.getTargetName() != null) {
-        // If we have a target, set state to RANGING and need to attack
-        Log.info("State: Transitioning from EATING back to RANGING");
-        currentState = BotState.RANGING;
-        needToAttack = true;
-      } else {
-        Log.info("State: Transitioning from EATING back to IDLE");
-        currentState = BotState.IDLE;
-      }
-      // Reset the counter
-      stateTickCounter = 0;
-    }
-  }
-
-  private void handle2HStateTick() {
-    // Prevent staying in 2H state for too long
-    if (stateTickCounter >= MAX_2H_EXECUTION_TICKS) {
-      Log.info("State: 2H execution timeout, returning to RANGING");
+  private void handleEatingTimeout() {
+    stateTimeout = -1;
+    // After being in EATING state for a few ticks, return to the state we were in before eating
+    if (stateBeforeEating == BotState.EXECUTING_2H) {
       currentState = BotState.RANGING;
       needToEquipBow = true;
       needToAttack = true;
-      stateTickCounter = 0;
+    } else if (stateBeforeEating == BotState.RETREATING) {
+      currentState = BotState.RETREATING;
+    } else if (stateBeforeEating == BotState.LOOTING) {
+      currentState = BotState.LOOTING;
+    } else if (targetTracker.getTargetName() != null) {
+      // If we have a target, set state to RANGING and need to attack
+      currentState = BotState.RANGING;
+      needToAttack = true;
+    } else {
+      currentState = BotState.IDLE;
     }
+    journal.record(JournalEvent.STATE_RESUMED, currentState.ordinal(), stateBeforeEating == BotState.EXECUTING_2H ? 1 : 0);
+  }
+
+  private void handle2HTimeout() {
+    stateTimeout = -1;
+    // Prevent staying in 2H state for too long
+    journal.record(JournalEvent.TWO_HANDED_TIMEOUT);
+    currentState = BotState.RANGING;
+    needToEquipBow = true;
+    needToAttack = true;
   }
 
   /**
@@ -129,11 +117,11 @@ public class State {
 
   /**
    * Process chat messages that affect state
+   * @param types Mask of the {@link MessageType}s matched in the message
    */
-  public void message(String text) {
+  public void message(int types) {
     // Handle messages that affect state
-    if (text.contains("you have been disconnected") ||
-            text.contains("your session has expired")) {
+    if (MessageType.DISCONNECTED.isIn(types)) {
       resetState();
     }
   }
@@ -144,7 +132,7 @@ public class State {
   public void setCurrentState(BotState state) {
     // Only process if we're changing to a different state
     if (currentState != state) {
-      Log.info("State: Changing from " + currentState + " to " + state);
+      journal.record(JournalEvent.STATE_CHANGED, currentState.ordinal(), state.ordinal());
 
       // Handle special state transitions
       if (state == BotState.EATING) {
@@ -155,19 +143,34 @@ public class State {
         needToAttack = true;
       }
 
-      // Reset tick counter and update state
-      stateTickCounter = 0;
+      // Replace the timeout of the previous state and update state
+      timers.cancel(stateTimeout);
+      stateTimeout = -1;
+      if (state == BotState.EATING) {
+        stateTimeout = timers.schedule(EATING_ANIMATION_DURATION, eatingTimeout);
+      } else if (state == BotState.EXECUTING_2H) {
+        stateTimeout = timers.schedule(MAX_2H_EXECUTION_TICKS, twoHandedTimeout);
+      }
       currentState = state;
+      publisher.run();
     }
   }
 
+  void setPublisher(Runnable publisher) {
+    this.publisher = publisher;
+  }
+
   /**
    * Reset state completely (used after disconnection)
    */
   private void resetState() {
     currentState = BotState.IDLE;
     stateBeforeEating = BotState.IDLE;
-    stateTickCounter = 0;
+    timers.cancel(stateTimeout);
+    stateTimeout = -1;
+    timers.cancel(combatCooldown);
+    combatCooldown = -1;
+    combatCooldownElapsed = false;
     needToAttack = false;
     needToEquipBow = false;
     retreating = false;
@@ -192,6 +195,7 @@ public class State {
 
   public void setNeedToAttack(boolean needToAttack) {
     this.needToAttack = needToAttack;
+    publisher.run();
   }
 
   public boolean isNeedToEquipBow() {
@@ -200,6 +204,7 @@ public class State {
 
   public void setNeedToEquipBow(boolean needToEquipBow) {
     this.needToEquipBow = needToEquipBow;
+    publisher.run();
   }
 
   public boolean isRetreating() {
@@ -208,9 +213,13 @@ public class State {
 
   public void setRetreating(boolean retreating, int currentTick) {
     this.retreating = retreating;
+    timers.cancel(combatCooldown);
+    combatCooldown = -1;
+    combatCooldownElapsed = false;
     if (retreating) {
       retreatStartTime = currentTick;
-      Log.info("State: Started retreating at tick " + retreatStartTime);
+      combatCooldown = timers.schedule(COMBAT_COOLDOWN_TICKS, combatCooldownTimeout);
+      journal.record(JournalEvent.RETREAT_STARTED, retreatStartTime);
       setCurrentState(BotState.RETREATING);
     } else {
       retreatStartTime = -1;
@@ -264,9 +273,7 @@ public class State {
     }
   }
 
-  public boolean isCombatCooldownElapsed(int currentTick) {
-    // Each tick is roughly 0.6 seconds, so convert seconds to ticks
-    int cooldownTicks = (int)(COMBAT_COOLDOWN_SECONDS / 0.6);
-    return retreatStartTime != -1 && currentTick - retreatStartTime >= cooldownTicks;
+  public boolean isCombatCooldownElapsed() {
+    return retreatStartTime != -1 && combatCooldownElapsed;
   }
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import main.java.org.rspeer.scripts.f2ppker.data.Constant;
+import main.java.org.rspeer.scripts.f2ppker.domain.config.Config;
+import org.rspeer.game.adapter.scene.Player;
+
+/**
+ * Ranks every eligible target once per tick and keeps the best few as ranked fallbacks.
+ * A player is eligible if they are within the configured combat levels, outside the safe area,
+ * and neither fighting nor being fought by anyone else. Eligible players are scored on their level
+ * within the configured range, worn heavy armor, distance, estimated hitpoints and how recently we fought them.
+ * Health bars are only shown in combat, so hitpoints come from the {@link HitpointsEstimator} for our target
+ * and from a prior on the combat level for everyone else.
+ * Only the top {@link #CAPACITY} are kept in a bounded min-heap, so when the best target becomes invalid
+ * the next one is taken from the ranking in the same tick rather than rescanning the scene.
+ */
+@Singleton
+public class TargetScorer {
+  private static final int CAPACITY = 5;
+
+  // Score weights, each term is normalised to roughly [0, 1] before weighing
+  private static final double LEVEL_WEIGHT = 2.0;
+  private static final double ARMOR_WEIGHT = 1.5;
+  private static final double DISTANCE_WEIGHT = 1.0;
+  private static final double HEALTH_WEIGHT = 1.0;
+  private static final double COMBAT_WEIGHT = 1.0;
+
+  /** Distance at which the distance term bottoms out **/
+  private static final double MAX_DISTANCE = 15;
+
+  private static final double MAX_HITPOINTS = 99;
+
+  private final Config config;
+  private final Timers timers;
+  private final PlayerIndex players;
+  private final TargetTracker targets;
+  private final HitpointsEstimator hitpoints;
+
+  private int rankedTick = -1;
+
+  /** Min-heap on score while ranking, sorted best first once the tick's ranking is complete **/
+  private final Player[] candidates = new Player[CAPACITY];
+  private final double[] scores = new double[CAPACITY];
+  private int size;
+
+  @Inject
+  public TargetScorer(Config config, Timers timers, PlayerIndex players,
+                      TargetTracker targets, HitpointsEstimator hitpoints) {
+    this.config = config;
+    this.timers = timers;
+    this.players = players;
+    this.targets = targets;
+    this.hitpoints = hitpoints;
+  }
+
+  /**
+   * @return The best ranked target that is still valid, or null if there is none this tick
+   */
+  public Player best() {
+    rank();
+    for (int i = 0; i < size; i++) {
+      if (isValid(candidates[i])) {
+        return candidates[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return The best ranked valid target other than the given one, for switching when it becomes invalid
+   */
+  public Player next(String current) {
+    rank();
+    for (int i = 0; i < size; i++) {
+      Player candidate = candidates[i];
+      if (!candidate.getName().equals(current) && isValid(candidate)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return The amount of targets ranked this tick, at most {@link #CAPACITY}
+   */
+  public int getRankedCount() {
+    rank();
+    return size;
+  }
+
+  private void rank() {
+    int now = timers.now();
+    if (now == rankedTick) {
+      return;
+    }
+
+    rankedTick = now;
+    size = 0;
+    Player self = players.self();
+    if (self == null) {
+      return;
+    }
+
+    for (Player player : players.getPlayers()) {
+      if (!isEligible(player, self)) {
+        continue;
+      }
+
+      double score = score(player, self, now);
+      if (size < CAPACITY) {
+        candidates[size] = player;
+        scores[size] = score;
+        siftUp(size++);
+      } else if (score > scores[0]) {
+        candidates[0] = player;
+        scores[0] = score;
+        siftDown(0);
+      }
+    }
+
+    sort();
+  }
+
+  private boolean isEligible(Player player, Player self) {
+    int level = player.getCombatLevel();
+    return !player.equals(self)
+        && level >= config.getMinCombatLevel() && level <= config.getMaxCombatLevel()
+        && player.getTarget() == null
+        && !players.isTargeted(player)
+        && !Constant.SAFE_AREA.contains(player.getPosition());
+  }
+
+  /**
+   * A ranked player stays valid as long as nobody but us started fighting them since the ranking
+   */
+  private boolean isValid(Player player) {
+    Player self = players.self();
+    int attackers = players.getTargetedByCount(player);
+    if (self != null && player.equals(self.getTarget())) {
+      attackers--;
+    }
+
+    return attackers == 0
+        && !Constant.SAFE_AREA.contains(player.getPosition())
+        && (player.getTarget() == null || player.getTarget().equals(self));
+  }
+
+  private double score(Player player, Player self, int now) {
+    // Weaker players within the configured range are preferred
+    int range = Math.max(1, config.getMaxCombatLevel() - config.getMinCombatLevel());
+    double level = (double) (config.getMaxCombatLevel() - player.getCombatLevel()) / range;
+
+    double armor = Integer.bitCount(players.getArmorMask(player)) / (double) Constant.EQUIPMENT_KEYWORDS.size();
+    double distance = Math.min(player.distance(self), MAX_DISTANCE) / MAX_DISTANCE;
+    double health = getHitpoints(player) / MAX_HITPOINTS;
+
+    // Someone we fought recently is likely still hurt, the bonus fades over the combat cooldown
+    double combat = 0;
+    int last = timers.getLastCombatTick(player.getName());
+    if (last != -1) {
+      combat = 1 - (double) (now - last) / Constant.COMBAT_COOLDOWN_TICKS;
+    }
+
+    return LEVEL_WEIGHT * level
+        - ARMOR_WEIGHT * armor
+        - DISTANCE_WEIGHT * distance
+        - HEALTH_WEIGHT * health
+        + COMBAT_WEIGHT * combat;
+  }
+
+  private double getHitpoints(Player player) {
+    if (player.getName().equals(targets.getTargetName())) {
+      return hitpoints.getEstimate();
+    }
+
+    return HitpointsEstimator.getPrior(player.getCombatLevel());
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (scores[parent] <= scores[index]) {
+        return;
+      }
+      swap(parent, index);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int smallest = index;
+      int left = 2 * index + 1;
+      int right = left + 1;
+      if (left < size && scores[left] < scores[smallest]) {
+        smallest = left;
+      }
+      if (right < size && scores[right] < scores[smallest]) {
+        smallest = right;
+      }
+      if (smallest == index) {
+        return;
+      }
+      swap(smallest, index);
+      index = smallest;
+    }
+  }
+
+  /**
+   * Orders the heap best first, an insertion sort as there are at most {@link #CAPACITY} entries
+   */
+  private void sort() {
+    for (int i = 1; i < size; i++) {
+      for (int j = i; j > 0 && scores[j] > scores[j - 1]; j--) {
+        swap(j, j - 1);
+      }
+    }
+  }
+
+  private void swap(int a, int b) {
+    Player candidate = candidates[a];
+    candidates[a] = candidates[b];
+    candidates[b] = candidate;
+
+    double score = scores[a];
+    scores[a] = scores[b];
+    scores[b] = score;
+  }
+}
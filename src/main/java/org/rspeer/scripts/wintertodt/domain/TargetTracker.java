@@ -1,5 +1,6 @@
 package main.java.org.rspeer.scripts.f2ppker.domain;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.rspeer.commons.logging.Log;
 import org.rspeer.game.Vars;
@@ -20,15 +21,35 @@ public class TargetTracker {
     private int lastSkillChange = 0;
     private boolean damagePredictionValid = false;
 
+    private final Journal journal;
+
+    // Republishes the domain snapshot whenever the target or pending target changes
+    private Runnable publisher = () -> {};
+
+    @Inject
+    public TargetTracker(Journal journal) {
+        this.journal = journal;
+    }
+
+    void setPublisher(Runnable publisher) {
+        this.publisher = publisher;
+    }
+
     /**
      * Processes skill changes for damage prediction
      */
     public void skillChange(SkillEvent event) {
-        if (event.getSource() == Skill.RANGED) {
-            lastSkillChange = event.getChange();
+        skillChange(event.getSource(), event.getChange());
+    }
+
+    /**
+     * Processes a skill experience change for damage prediction
+     */
+    public void skillChange(Skill skill, int change) {
+        if (skill == Skill.RANGED) {
+            lastSkillChange = change;
             damagePredictionValid = lastSkillChange > 0;
-            Log.fine("TargetTracker: Ranged skill change detected: " +
-                    lastSkillChange + ", prediction valid: " + damagePredictionValid);
+            journal.record(JournalEvent.RANGED_SKILL_CHANGE, lastSkillChange, damagePredictionValid ? 1 : 0);
         }
     }
 
@@ -45,6 +66,7 @@ public class TargetTracker {
     public void setTargetName(String targetName) {
         Log.info("TargetTracker: Setting target: " + targetName);
         this.targetName = targetName;
+        publisher.run();
     }
 
     /**
@@ -54,6 +76,7 @@ public class TargetTracker {
         Log.info("TargetTracker: Target cleared");
         this.targetName = null;
         resetDamagePrediction();
+        publisher.run();
     }
 
     /**
@@ -69,6 +92,7 @@ public class TargetTracker {
     public void setPendingTargetName(String targetName) {
         Log.info("TargetTracker: Setting pending target: " + targetName);
         this.pendingTargetName = targetName;
+        publisher.run();
     }
 
     /**
@@ -79,6 +103,7 @@ public class TargetTracker {
             Log.info("TargetTracker: Confirming pending target: " + pendingTargetName);
             setTargetName(pendingTargetName);
             pendingTargetName = null;
+            publisher.run();
         }
     }
 
@@ -89,6 +114,7 @@ public class TargetTracker {
         if (pendingTargetName != null) {
             Log.info("TargetTracker: Clearing pending target: " + pendingTargetName);
             pendingTargetName = null;
+            publisher.run();
         }
     }
 
@@ -112,7 +138,7 @@ public class TargetTracker {
     public void resetDamagePrediction() {
         lastSkillChange = 0;
         damagePredictionValid = false;
-        Log.fine("TargetTracker: Reset damage prediction values");
+        journal.record(JournalEvent.DAMAGE_PREDICTION_RESET);
     }
 
     /**
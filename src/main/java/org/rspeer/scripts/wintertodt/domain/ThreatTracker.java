@@ -0,0 +1,198 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import main.java.org.rspeer.scripts.f2ppker.data.WeaponClass;
+import org.rspeer.game.adapter.scene.Player;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks the players attacking us, fed by their attack animations rather than polling the scene.
+ * Each attacker is kept with the weapon class of their last attack and the tick it was performed on.
+ * An attacker is dropped once they have gone two attack intervals without attacking,
+ * or once they are seen targeting someone else or leave the scene.
+ * The threat count, the most dangerous attacker and the next predicted attack are updated on every change,
+ * so reading them is constant time.
+ */
+@Singleton
+public class ThreatTracker {
+
+  /** Attack intervals an attacker may skip before they are no longer considered a threat **/
+  private static final int EXPIRY_INTERVALS = 2;
+
+  private final Timers timers;
+  private final PlayerIndex players;
+  private final Journal journal;
+
+  private final Map<String, Threat> threats = new LinkedHashMap<>();
+
+  private String mostDangerous;
+  private int nextAttackTick = -1;
+  private double damagePerTick;
+
+  /** Tick on which the attackers were last checked against the scene **/
+  private int validated = -1;
+
+  @Inject
+  public ThreatTracker(Timers timers, PlayerIndex players, Journal journal) {
+    this.timers = timers;
+    this.players = players;
+    this.journal = journal;
+  }
+
+  /**
+   * Called when another player targeting us performs an animation
+   */
+  void attack(String name, int animation) {
+    WeaponClass weapon = WeaponClass.of(animation);
+    if (name == null || weapon == null) {
+      return;
+    }
+
+    Threat threat = threats.get(name);
+    if (threat == null) {
+      threat = new Threat();
+      threats.put(name, threat);
+      journal.record(JournalEvent.THREAT_STARTED, weapon.ordinal(), threats.size());
+    }
+
+    threat.weapon = weapon;
+    threat.lastAttack = timers.now();
+    update();
+  }
+
+  /**
+   * Called on each game tick to drop attackers that stopped attacking
+   */
+  void tick() {
+    int now = timers.now();
+    boolean changed = false;
+    Iterator<Threat> iterator = threats.values().iterator();
+    while (iterator.hasNext()) {
+      Threat threat = iterator.next();
+      if (now - threat.lastAttack > threat.weapon.getSpeed() * EXPIRY_INTERVALS) {
+        iterator.remove();
+        changed = true;
+      }
+    }
+
+    if (changed) {
+      update();
+    }
+  }
+
+  /**
+   * Drops attackers that left the scene or switched targets, at most once per tick.
+   * Only the known attackers are looked up, in the player index that is already built for the tick.
+   */
+  private void validate() {
+    int now = timers.now();
+    if (validated == now || threats.isEmpty()) {
+      return;
+    }
+
+    validated = now;
+    Player self = players.self();
+    boolean changed = false;
+    Iterator<String> iterator = threats.keySet().iterator();
+    while (iterator.hasNext()) {
+      Player attacker = players.get(iterator.next());
+      if (attacker == null || self == null || !self.equals(attacker.getTarget())) {
+        iterator.remove();
+        changed = true;
+      }
+    }
+
+    if (changed) {
+      update();
+    }
+  }
+
+  private void update() {
+    mostDangerous = null;
+    nextAttackTick = -1;
+    damagePerTick = 0;
+
+    double highest = -1;
+    for (Map.Entry<String, Threat> entry : threats.entrySet()) {
+      Threat threat = entry.getValue();
+      double dpt = threat.weapon.getDamagePerTick();
+      damagePerTick += dpt;
+      if (dpt > highest) {
+        highest = dpt;
+        mostDangerous = entry.getKey();
+      }
+
+      int next = threat.lastAttack + threat.weapon.getSpeed();
+      if (nextAttackTick == -1 || next < nextAttackTick) {
+        nextAttackTick = next;
+      }
+    }
+
+    if (threats.isEmpty()) {
+      journal.record(JournalEvent.THREATS_CLEARED);
+    }
+  }
+
+  /**
+   * @return The amount of players currently attacking us
+   */
+  public int getThreatCount() {
+    validate();
+    return threats.size();
+  }
+
+  public boolean isUnderAttack() {
+    return getThreatCount() > 0;
+  }
+
+  /**
+   * @return The name of the attacker with the highest expected damage per tick, or null if there is none
+   */
+  public String getMostDangerous() {
+    validate();
+    return mostDangerous;
+  }
+
+  /**
+   * @return The combined expected damage per tick of every attacker
+   */
+  public double getDamagePerTick() {
+    validate();
+    return damagePerTick;
+  }
+
+  /**
+   * @return The tick the next attack is expected on, or -1 if nobody is attacking us
+   */
+  public int getNextAttackTick() {
+    validate();
+    return nextAttackTick;
+  }
+
+  /**
+   * @return The ticks until the next attack is expected, 0 if it is due or -1 if nobody is attacking us
+   */
+  public int getTicksUntilNextAttack() {
+    int next = getNextAttackTick();
+    return next == -1 ? -1 : Math.max(0, next - timers.now());
+  }
+
+  /**
+   * @return The weapon class the given player last attacked us with, or null if they aren't attacking us
+   */
+  public WeaponClass getWeapon(String name) {
+    validate();
+    Threat threat = threats.get(name);
+    return threat != null ? threat.weapon : null;
+  }
+
+  private static class Threat {
+
+    private WeaponClass weapon;
+    private int lastAttack;
+  }
+}
@@ -1,34 +1,57 @@
 package main.java.org.rspeer.scripts.f2ppker.domain;
 
 import com.google.inject.Singleton;
-import java.util.EnumMap;
-import java.util.Map;
-import java.util.HashMap;
 import main.java.org.rspeer.scripts.f2ppker.data.Action;
+import main.java.org.rspeer.scripts.f2ppker.data.Constant;
 
 /**
  * Manages and tracks all time-related events in the game.
  * Tracks animations, action cooldowns, and combat timing.
+ * Timeouts and cooldowns are scheduled on a hashed timing wheel that is advanced every tick.
  */
 @Singleton
 public class Timers {
+  private static final Action[] ACTIONS = Action.values();
+  private static final int COMBAT_LEDGER_CAPACITY = 256;
+
   /** Current time in ticks **/
   private int now;
 
   /** Tick of the last animation **/
   private int animation;
 
-  /** Tracks when actions were last performed */
-  private final Map<Action, Integer> actionTimers = new EnumMap<>(Action.class);
+  /** Timeouts and cooldowns, keyed by the tick they expire on **/
+  private final TimingWheel wheel = new TimingWheel(64, 64);
+
+  /** Whether each action is still cooling down, indexed by ordinal */
+  private final boolean[] actionCooldowns = new boolean[ACTIONS.length];
+
+  /** Pending cooldown expiry of each action, indexed by ordinal */
+  private final int[] actionHandles = new int[ACTIONS.length];
 
-  /** Tracks when players were last in combat */
-  private final Map<String, Integer> playerLastCombatTick = new HashMap<>();
+  /** Preallocated expiry callback of each action, indexed by ordinal */
+  private final Runnable[] actionExpiries = new Runnable[ACTIONS.length];
+
+  /** Tracks when players were last in combat, entries expire after the combat cooldown */
+  private final CombatLedger combatLedger = new CombatLedger(COMBAT_LEDGER_CAPACITY, Constant.COMBAT_COOLDOWN_TICKS);
+
+  public Timers() {
+    for (Action action : ACTIONS) {
+      int index = action.ordinal();
+      actionHandles[index] = -1;
+      actionExpiries[index] = () -> {
+        actionCooldowns[index] = false;
+        actionHandles[index] = -1;
+      };
+    }
+  }
 
   /**
-   * Called on each game tick to increment the internal timer
+   * Called on each game tick to increment the internal timer and fire expired timeouts
    */
   void tick() {
     now++;
+    wheel.advance();
   }
 
   /**
@@ -40,46 +63,77 @@ public class Timers {
 
   /**
    * Processes chat messages that might reset animation timers
+   * @param types Mask of the {@link MessageType}s matched in the message
    */
-  void message(String text) {
+  void message(int types) {
     // Some messages can interrupt animations
-    if (text.contains("you eat") ||
-            text.contains("health points") ||
-            text.contains("heals") ||
-            text.contains("restore")) {
+    if (MessageType.EAT.isIn(types)) {
       // Reset animation timer
       animation = 0;
     }
   }
 
+  /**
+   * Schedules a callback to run the given amount of ticks from now.
+   * Callbacks should be preallocated, as they are retained until they fire.
+   *
+   * @return A handle that can be passed to {@link #cancel(int)}
+   */
+  public int schedule(int ticks, Runnable callback) {
+    return wheel.schedule(ticks, callback);
+  }
+
+  /**
+   * Cancels a scheduled callback, does nothing if it already fired
+   */
+  public void cancel(int handle) {
+    wheel.cancel(handle);
+  }
+
   /**
    * Records that a player was in combat at the current tick
    */
   public void recordCombat(String playerName) {
-    playerLastCombatTick.put(playerName, now);
+    combatLedger.record(playerName, now);
   }
 
   /**
-   * Checks if a player has been in combat within the specified number of ticks
+   * Checks if a player has been in combat within the specified number of ticks.
+   * Combat is only remembered for {@link Constant#COMBAT_COOLDOWN_TICKS}, larger windows are capped to it.
    */
   public boolean hasBeenInCombatRecently(String playerName, int ticks) {
-    Integer lastTime = playerLastCombatTick.get(playerName);
-    return lastTime != null && now - lastTime < ticks;
+    int lastTime = combatLedger.getLastTick(playerName, now);
+    return lastTime != -1 && now - lastTime < ticks;
+  }
+
+  /**
+   * Returns the tick a player was last in combat, or -1 if they haven't been within the combat cooldown
+   */
+  public int getLastCombatTick(String playerName) {
+    return combatLedger.getLastTick(playerName, now);
   }
 
   /**
-   * Records when an action was performed
+   * Records when an action was performed, starting its cooldown
    */
   public void recordAction(Action action) {
-    actionTimers.put(action, now);
+    int index = action.ordinal();
+    wheel.cancel(actionHandles[index]);
+    if (action.getTickDuration() <= 0) {
+      actionCooldowns[index] = false;
+      actionHandles[index] = -1;
+      return;
+    }
+
+    actionCooldowns[index] = true;
+    actionHandles[index] = wheel.schedule(action.getTickDuration(), actionExpiries[index]);
   }
 
   /**
    * Checks if enough time has passed since the last action to perform it again
    */
   public boolean isActionReady(Action action) {
-    Integer lastTime = actionTimers.get(action);
-    return lastTime == null || now - lastTime >= action.getTickDuration();
+    return !actionCooldowns[action.ordinal()];
   }
 
   /**
@@ -102,4 +156,4 @@ public class Timers {
   public int getLastAnimationTick() {
     return animation;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel keyed on game ticks. Scheduling and cancelling are O(1),
+ * and advancing only visits the timers hashed into the current slot.
+ * Timers live in preallocated parallel arrays, so neither scheduling nor advancing allocates.
+ */
+final class TimingWheel {
+
+  private static final int NONE = -1;
+  private static final int INDEX_BITS = 16;
+  private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+  /** First timer of each slot **/
+  private final int[] slots;
+  private final int slotMask;
+
+  /** Timer pool, indexed by timer id **/
+  private final int[] deadlines;
+  private final int[] next;
+  private final int[] previous;
+  private final int[] generations;
+  private final Runnable[] callbacks;
+
+  /** Head of the free timer list, linked through next **/
+  private int free;
+
+  private int now;
+
+  /**
+   * @param slots    Amount of slots in the wheel, must be a power of two
+   * @param capacity Maximum amount of timers pending at once
+   */
+  TimingWheel(int slots, int capacity) {
+    if (Integer.bitCount(slots) != 1) {
+      throw new IllegalArgumentException("Slot count must be a power of two");
+    }
+
+    if (capacity > INDEX_MASK) {
+      throw new IllegalArgumentException("Capacity must be below " + INDEX_MASK);
+    }
+
+    this.slots = new int[slots];
+    this.slotMask = slots - 1;
+    this.deadlines = new int[capacity];
+    this.next = new int[capacity];
+    this.previous = new int[capacity];
+    this.generations = new int[capacity];
+    this.callbacks = new Runnable[capacity];
+
+    Arrays.fill(this.slots, NONE);
+    for (int i = 0; i < capacity; i++) {
+      next[i] = i + 1 < capacity ? i + 1 : NONE;
+    }
+  }
+
+  /**
+   * Schedules a callback to run when the wheel is advanced the given amount of ticks from now
+   *
+   * @return A handle that can be passed to {@link #cancel(int)}
+   */
+  int schedule(int ticks, Runnable callback) {
+    if (free == NONE) {
+      throw new IllegalStateException("Timing wheel is at capacity");
+    }
+
+    int timer = free;
+    free = next[timer];
+
+    int deadline = now + Math.max(1, ticks);
+    deadlines[timer] = deadline;
+    callbacks[timer] = callback;
+
+    int slot = deadline & slotMask;
+    int head = slots[slot];
+    next[timer] = head;
+    previous[timer] = NONE;
+    if (head != NONE) {
+      previous[head] = timer;
+    }
+    slots[slot] = timer;
+    return (generations[timer] << INDEX_BITS) | timer;
+  }
+
+  /**
+   * Cancels a pending timer. Cancelling a timer that already fired or was cancelled is a no-op.
+   *
+   * @return true if the timer was pending
+   */
+  boolean cancel(int handle) {
+    if (handle < 0) {
+      return false;
+    }
+
+    int timer = handle & INDEX_MASK;
+    if (timer >= callbacks.length
+        || generations[timer] != handle >>> INDEX_BITS
+        || callbacks[timer] == null) {
+      return false;
+    }
+
+    unlink(timer);
+    release(timer);
+    return true;
+  }
+
+  /**
+   * Moves the wheel forward a tick and runs every timer that expired.
+   * Callbacks may schedule or cancel other timers.
+   */
+  void advance() {
+    now++;
+    int slot = now & slotMask;
+    int timer = slots[slot];
+    while (timer != NONE) {
+      if (deadlines[timer] != now) {
+        timer = next[timer];
+        continue;
+      }
+
+      Runnable callback = callbacks[timer];
+      unlink(timer);
+      release(timer);
+      callback.run();
+
+      //The callback may have modified this slot, so rescan it from the start
+      timer = slots[slot];
+    }
+  }
+
+  int now() {
+    return now;
+  }
+
+  private void unlink(int timer) {
+    int before = previous[timer];
+    int after = next[timer];
+    if (before != NONE) {
+      next[before] = after;
+    } else {
+      slots[deadlines[timer] & slotMask] = after;
+    }
+
+    if (after != NONE) {
+      previous[after] = before;
+    }
+  }
+
+  private void release(int timer) {
+    callbacks[timer] = null;
+    generations[timer] = (generations[timer] + 1) & (INDEX_MASK >>> 1);
+    next[timer] = free;
+    free = timer;
+  }
+}
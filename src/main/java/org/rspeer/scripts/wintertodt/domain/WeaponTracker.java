@@ -1,7 +1,7 @@
 package main.java.org.rspeer.scripts.f2ppker.domain;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import org.rspeer.commons.logging.Log;
 
 /**
  * Tracks weapon usage and switching for PKing.
@@ -18,33 +18,50 @@ public class WeaponTracker {
     private int lastBowHitTick = 0;
     private int lastBowAttackTick = 0;
 
+    private final Journal journal;
+
+    // Republishes the domain snapshot whenever the weapon flags change
+    private Runnable publisher = () -> {};
+
+    @Inject
+    public WeaponTracker(Journal journal) {
+        this.journal = journal;
+    }
+
+    void setPublisher(Runnable publisher) {
+        this.publisher = publisher;
+    }
+
     /**
      * Records when a 2H attack is performed
      */
     public void registerRune2hAttack() {
-        Log.fine("WeaponTracker: Registered 2H attack");
+        journal.record(JournalEvent.TWO_HANDED_ATTACK_REGISTERED);
         rune2hUsedSinceLastBow = true;
         bowHitRegistered = false;
+        publisher.run();
     }
 
     /**
      * Records when a bow hit (damage) is registered
      */
     public void registerBowHit(int tick) {
-        Log.fine("WeaponTracker: Registered bow hit (damage) on tick " + tick);
+        journal.record(JournalEvent.BOW_HIT_REGISTERED, tick);
         lastBowHitTick = tick;
         bowHitRegistered = true;
         rune2hUsedSinceLastBow = false;
+        publisher.run();
     }
 
     /**
      * Records when a bow attack animation is performed
      */
     public void registerBowAttack(int tick) {
-        Log.fine("WeaponTracker: Registered bow attack animation on tick " + tick);
+        journal.record(JournalEvent.BOW_ATTACK_REGISTERED, tick);
         lastBowAttackTick = tick;
         bowAttackRegistered = true;
         // Don't reset rune2hUsedSinceLastBow here - that only happens on hit
+        publisher.run();
     }
 
     /**
@@ -75,11 +92,12 @@ public class WeaponTracker {
      * Resets all weapon tracking state
      */
     public void reset() {
-        Log.fine("WeaponTracker: Reset weapon state tracking");
+        journal.record(JournalEvent.WEAPONS_RESET);
         rune2hUsedSinceLastBow = false;
         bowHitRegistered = false;
         bowAttackRegistered = false;
         lastBowHitTick = 0;
         lastBowAttackTick = 0;
+        publisher.run();
     }
 }
@@ -0,0 +1,101 @@
+package main.java.org.rspeer.scripts.f2ppker.domain;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.adapter.scene.SceneObject;
+import org.rspeer.game.position.Position;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.SceneGateway;
+import org.rspeer.scripts.wintertodt.data.Constant;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tick-scoped cache over the scene lookups.
+ * Each lookup is resolved at most once per game tick, so every task
+ * polling the same brazier, roots or door within a tick shares one handle.
+ */
+@Singleton
+public class WorldSnapshot {
+
+  private final PlayerGateway players;
+  private final SceneGateway scene;
+
+  /** Incremented every tick, a cached value is only valid for the generation it was resolved in **/
+  private int generation = 1;
+
+  private int inGameGeneration;
+  private boolean inGame;
+
+  private int doorGeneration;
+  private SceneObject door;
+
+  private final Lookup roots = new Lookup();
+
+  /** Brazier lookups keyed by the action they were queried with (Light, Feed, Fix) */
+  private final Map<String, Lookup> braziers = new HashMap<>();
+
+  @Inject
+  public WorldSnapshot(PlayerGateway players, SceneGateway scene) {
+    this.players = players;
+    this.scene = scene;
+  }
+
+  /**
+   * Called on each game tick to invalidate everything resolved during the previous tick
+   */
+  void tick() {
+    generation++;
+  }
+
+  public boolean isInGame() {
+    if (inGameGeneration != generation) {
+      Player self = players.self();
+      inGame = self != null && self.getPosition().getRegionId() == Constant.WINTERTODT_REGION_ID;
+      inGameGeneration = generation;
+    }
+    return inGame;
+  }
+
+  public SceneObject findDoor() {
+    if (doorGeneration != generation) {
+      door = scene.findDoor();
+      doorGeneration = generation;
+    }
+    return door;
+  }
+
+  public SceneObject findRoots(Position position) {
+    if (!roots.isValid(generation, position)) {
+      roots.resolve(generation, position, scene.findRoots(position));
+    }
+    return roots.value;
+  }
+
+  public SceneObject findBrazier(Position position, String action) {
+    Lookup lookup = braziers.computeIfAbsent(action, x -> new Lookup());
+    if (!lookup.isValid(generation, position)) {
+      lookup.resolve(generation, position, scene.findBrazier(position, action));
+    }
+    return lookup.value;
+  }
+
+  private static class Lookup {
+
+    private int generation;
+    private Position position;
+    private SceneObject value;
+
+    private boolean isValid(int generation, Position position) {
+      return this.generation == generation && position.equals(this.position);
+    }
+
+    private void resolve(int generation, Position position, SceneObject value) {
+      this.generation = generation;
+      this.position = position;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+/**
+ * What the player is doing on a given tick, each activity mirrors one of the game tasks
+ */
+public enum Activity {
+
+  IDLE(null, 1),
+  EAT(null, 3),
+  WAIT(Location.WAITING, 1),
+  FLETCH(null, 3),
+  LIGHT(Location.BRAZIER, 4),
+  FEED(Location.BRAZIER, 3),
+  REPAIR(Location.BRAZIER, 4),
+  CHOP(Location.ROOTS, 4);
+
+  private final Location location;
+  private final int duration;
+
+  /**
+   * @param location Where the player has to be to perform the activity, or null if it can be done anywhere
+   * @param duration Ticks per repetition of the activity
+   */
+  Activity(Location location, int duration) {
+    this.location = location;
+    this.duration = duration;
+  }
+
+  public Location getLocation() {
+    return location;
+  }
+
+  public int getDuration() {
+    return duration;
+  }
+}
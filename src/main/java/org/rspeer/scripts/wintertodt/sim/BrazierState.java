@@ -0,0 +1,7 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+public enum BrazierState {
+  UNLIT,
+  LIT,
+  BROKEN
+}
@@ -0,0 +1,51 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+import org.rspeer.scripts.wintertodt.data.Gang;
+
+import java.util.Random;
+
+/**
+ * Random game events applied on every tick of an active game
+ */
+public interface GameHook {
+
+  void onTick(SimGame game, Random random);
+
+  /**
+   * Snow falling around the player's brazier, damaging the player and sometimes breaking the brazier
+   *
+   * @param chance Chance per tick of snow falling
+   * @param damage Warmth lost if the player is standing at the brazier
+   */
+  static GameHook snowfall(double chance, int damage) {
+    return (game, random) -> {
+      if (random.nextDouble() >= chance) {
+        return;
+      }
+
+      if (game.getLocation() == Location.BRAZIER) {
+        game.damage(damage);
+      }
+
+      Gang gang = game.getGang();
+      if (game.getBrazier(gang) == BrazierState.LIT && random.nextBoolean()) {
+        game.setBrazier(gang, BrazierState.BROKEN);
+      }
+    };
+  }
+
+  /**
+   * The pyromancer of a random brazier being knocked out, putting the brazier out until the pyromancer is healed
+   *
+   * @param chance Chance per tick of a pyromancer being knocked out
+   * @param ticks  Ticks until the pyromancer is healed by the crowd
+   */
+  static GameHook pyromancer(double chance, int ticks) {
+    return (game, random) -> {
+      if (random.nextDouble() < chance) {
+        Gang[] gangs = Gang.values();
+        game.incapacitate(gangs[random.nextInt(gangs.length)], ticks);
+      }
+    };
+  }
+}
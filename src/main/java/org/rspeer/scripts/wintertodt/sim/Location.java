@@ -0,0 +1,10 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+/**
+ * Coarse player position, the simulation only cares about which object the player is next to
+ */
+public enum Location {
+  WAITING,
+  BRAZIER,
+  ROOTS
+}
@@ -0,0 +1,9 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+/**
+ * Decides what the player does on each tick of a simulated game
+ */
+public interface Policy {
+
+  Activity decide(SimGame game);
+}
@@ -0,0 +1,97 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+import org.rspeer.scripts.wintertodt.data.Allocation;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.task.game.AllocationPlanner;
+import org.rspeer.scripts.wintertodt.task.game.brazier.LightBrazierTask;
+import org.rspeer.scripts.wintertodt.task.generic.FoodTask;
+
+import java.util.Random;
+
+/**
+ * Decides through the same rules the game tasks call, in the order the task script evaluates them:
+ * FoodTask, WaitingAreaTask, FletchTask, LightBrazierTask, BurnTask, RepairTask and ChopTask.
+ * Only the inputs of those rules are read from the simulated game, so a change to a rule is measured as is.
+ */
+public class ScriptPolicy implements Policy {
+
+  private static final int MIN_EAT_AT = 30;
+  private static final int MAX_EAT_AT = 50;
+
+  private final Random random;
+
+  private int tolerance;
+  private int eaten;
+
+  /** Tick and boss energy the current game was first seen active on, as tracked by the planner **/
+  private int start = -1;
+  private int startEnergy;
+
+  public ScriptPolicy(Random random) {
+    this.random = random;
+    this.tolerance = nextTolerance();
+  }
+
+  @Override
+  public Activity decide(SimGame game) {
+    if (game.getEaten() != eaten) {
+      eaten = game.getEaten();
+      tolerance = nextTolerance();
+    }
+
+    Phase phase = game.isRespawning() ? Phase.RESPAWNING : Phase.ACTIVE;
+    if (game.getFood() > 0 && FoodTask.shouldEat(phase, game.getWarmthPercent(), tolerance)) {
+      return Activity.EAT;
+    }
+
+    if (game.isRespawning()) {
+      start = -1;
+      //Walk to the brazier as the game is starting
+      return LightBrazierTask.isSpawning(game.getRespawnTimer(), game.getLightTicks()) ? Activity.LIGHT : Activity.IDLE;
+    }
+
+    if (game.getFood() == 0) {
+      return Activity.WAIT;
+    }
+
+    Allocation allocation = decideAllocation(game);
+    if (allocation == Allocation.FLETCH && game.getRoots() > 0) {
+      return Activity.FLETCH;
+    }
+
+    BrazierState brazier = game.getBrazier(game.getGang());
+    if (brazier == BrazierState.UNLIT && LightBrazierTask.shouldLight(allocation, game.getEnergy())) {
+      return Activity.LIGHT;
+    }
+
+    if (allocation == Allocation.BURN && brazier == BrazierState.LIT) {
+      return Activity.FEED;
+    }
+
+    if (allocation != Allocation.CHOP && brazier == BrazierState.BROKEN) {
+      return Activity.REPAIR;
+    }
+
+    if (allocation == Allocation.CHOP) {
+      return Activity.CHOP;
+    }
+
+    return Activity.IDLE;
+  }
+
+  private Allocation decideAllocation(SimGame game) {
+    if (start == -1) {
+      start = game.getTick();
+      startEnergy = game.getEnergy();
+    }
+
+    int remaining = AllocationPlanner.estimateRemainingTicks(game.getEnergy(), startEnergy, game.getTick() - start);
+    Allocation.Reason reason = AllocationPlanner.plan(game.getRoots(), game.getKindling(), game.getFreeSlots(),
+        game.getPoints(), game.isFletch(), game.getTicksTo(Location.BRAZIER), game.getTicksTo(Location.ROOTS), remaining);
+    return AllocationPlanner.toAllocation(reason);
+  }
+
+  private int nextTolerance() {
+    return MIN_EAT_AT + random.nextInt(MAX_EAT_AT - MIN_EAT_AT + 1);
+  }
+}
@@ -0,0 +1,413 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+import org.rspeer.game.position.Position;
+import org.rspeer.scripts.wintertodt.data.Gang;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Model of a Wintertodt session for a single player, advanced one game tick at a time.
+ * Only the state the tasks make decisions on is modelled: boss energy and respawn timer,
+ * the brazier of each gang, the player's roots, kindling, food and warmth, and the points of the current game.
+ * Other players are modelled as a crowd that damages the boss and relights braziers.
+ */
+public class SimGame {
+
+  public static final int POINTS_THRESHOLD = 500;
+  public static final int MAX_WARMTH = 1000;
+
+  static final int BOSS_HEALTH = 3000;
+  static final int RESPAWN_TICKS = 100;
+  static final int BACKPACK_SLOTS = 28;
+  static final int TOOL_SLOTS = 4;
+  static final int WARMTH_DRAIN = 3;
+  static final int FOOD_WARMTH = 200;
+  static final int ROOT_POINTS = 10;
+  static final int KINDLING_POINTS = 25;
+  static final int BRAZIER_POINTS = 25;
+  static final double CHOP_CHANCE = 0.6;
+  static final int WAITING_DISTANCE = 12;
+
+  private static final Gang[] GANGS = Gang.values();
+
+  private final Gang gang;
+  private final boolean fletch;
+  private final int foodAmount;
+  private final int minimumFood;
+  private final int crowdDamage;
+  private final double crowdChance;
+  private final Random random;
+  private final List<GameHook> hooks;
+
+  private final BrazierState[] braziers = new BrazierState[GANGS.length];
+  private final int[] incapacitated = new int[GANGS.length];
+
+  private int tick;
+  private int health;
+  private int respawnTimer = RESPAWN_TICKS;
+
+  private Location location = Location.WAITING;
+  private Location destination;
+  private int travel;
+
+  private Activity activity = Activity.IDLE;
+  private int progress;
+
+  private int warmth = MAX_WARMTH;
+  private int points;
+  private int roots;
+  private int kindling;
+  private int food;
+
+  private int games;
+  private int rewards;
+  private int totalPoints;
+  private int eaten;
+  private int knockouts;
+  private int bankTrips;
+
+  /**
+   * @param gang        The brazier the player plays at
+   * @param fletch      Whether roots are fletched into kindling
+   * @param foodAmount  Food withdrawn on each bank trip
+   * @param minimumFood Food below which the player banks between games
+   * @param crowdDamage Boss damage dealt each tick per lit brazier by the other players
+   * @param crowdChance Chance per tick of the other players relighting or repairing a brazier
+   * @param random      Source of all randomness, a fixed seed makes a run reproducible
+   * @param hooks       Random events applied on each tick of an active game
+   */
+  public SimGame(Gang gang, boolean fletch, int foodAmount, int minimumFood,
+                 int crowdDamage, double crowdChance, Random random, List<GameHook> hooks) {
+    this.gang = gang;
+    this.fletch = fletch;
+    this.foodAmount = foodAmount;
+    this.minimumFood = minimumFood;
+    this.crowdDamage = crowdDamage;
+    this.crowdChance = crowdChance;
+    this.random = random;
+    this.hooks = hooks;
+    this.food = foodAmount;
+    resetBraziers();
+  }
+
+  /**
+   * Advances the game by a single tick, performing the activity chosen by the policy
+   */
+  public void tick(Policy policy) {
+    tick++;
+    if (respawnTimer > 0) {
+      respawn();
+    } else {
+      play();
+    }
+
+    Activity next = policy.decide(this);
+    if (next != activity) {
+      activity = next;
+      progress = 0;
+    }
+
+    perform();
+  }
+
+  private void respawn() {
+    if (--respawnTimer > 0) {
+      return;
+    }
+
+    health = BOSS_HEALTH;
+    warmth = MAX_WARMTH;
+    points = 0;
+  }
+
+  private void play() {
+    for (int i = 0; i < GANGS.length; i++) {
+      // A brazier can't be lit while its pyromancer is down
+      if (incapacitated[i] > 0) {
+        incapacitated[i]--;
+        continue;
+      }
+
+      if (braziers[i] == BrazierState.LIT) {
+        health -= crowdDamage;
+      } else if (GANGS[i] != gang && random.nextDouble() < crowdChance) {
+        braziers[i] = braziers[i] == BrazierState.BROKEN ? BrazierState.UNLIT : BrazierState.LIT;
+      }
+    }
+
+    for (GameHook hook : hooks) {
+      hook.onTick(this, random);
+    }
+
+    if (location != Location.WAITING) {
+      damage(WARMTH_DRAIN);
+    }
+
+    if (health <= 0) {
+      finish();
+    }
+  }
+
+  private void finish() {
+    games++;
+    totalPoints += points;
+    if (points >= POINTS_THRESHOLD) {
+      rewards++;
+    }
+
+    // Roots and kindling are taken away at the end of each game
+    roots = 0;
+    kindling = 0;
+    respawnTimer = RESPAWN_TICKS;
+    resetBraziers();
+
+    // The bank trip is assumed to fit in the respawn timer
+    if (food < minimumFood) {
+      food = foodAmount;
+      bankTrips++;
+    }
+  }
+
+  private void perform() {
+    Location required = activity.getLocation();
+    if (required != null && required != location && destination != required) {
+      destination = required;
+      travel = getTravelTicks(location, required);
+    }
+
+    if (destination != null) {
+      if (--travel <= 0) {
+        location = destination;
+        destination = null;
+      } else if (required != null) {
+        // Only activities that can be done anywhere, such as fletching or eating, progress on the move
+        return;
+      }
+    }
+
+    if (++progress < activity.getDuration()) {
+      return;
+    }
+
+    progress = 0;
+    switch (activity) {
+      case EAT:
+        if (food > 0) {
+          food--;
+          eaten++;
+          warmth = Math.min(MAX_WARMTH, warmth + FOOD_WARMTH);
+        }
+        break;
+
+      case FLETCH:
+        if (roots > 0) {
+          roots--;
+          kindling++;
+        }
+        break;
+
+      case LIGHT:
+        if (respawnTimer == 0 && getBrazier(gang) == BrazierState.UNLIT && !isIncapacitated(gang)) {
+          setBrazier(gang, BrazierState.LIT);
+          points += BRAZIER_POINTS;
+        }
+        break;
+
+      case FEED:
+        if (getBrazier(gang) != BrazierState.LIT) {
+          break;
+        }
+
+        if (kindling > 0) {
+          kindling--;
+          points += KINDLING_POINTS;
+          health -= KINDLING_POINTS;
+        } else if (roots > 0) {
+          roots--;
+          points += ROOT_POINTS;
+          health -= ROOT_POINTS;
+        }
+        break;
+
+      case REPAIR:
+        if (getBrazier(gang) == BrazierState.BROKEN) {
+          setBrazier(gang, BrazierState.UNLIT);
+          points += BRAZIER_POINTS;
+        }
+        break;
+
+      case CHOP:
+        if (getFreeSlots() > 0 && random.nextDouble() < CHOP_CHANCE) {
+          roots++;
+        }
+        break;
+    }
+  }
+
+  private int getTravelTicks(Location from, Location to) {
+    // Running covers 2 tiles per tick
+    return Math.max(1, (getDistance(from, to) + 1) / 2);
+  }
+
+  private int getDistance(Location from, Location to) {
+    if (from == to) {
+      return 0;
+    }
+
+    if (from == Location.WAITING || to == Location.WAITING) {
+      return WAITING_DISTANCE;
+    }
+
+    Position brazier = gang.getStep();
+    Position roots = gang.getRoots();
+    return Math.max(Math.abs(brazier.getX() - roots.getX()), Math.abs(brazier.getY() - roots.getY()));
+  }
+
+  private void resetBraziers() {
+    for (int i = 0; i < GANGS.length; i++) {
+      braziers[i] = BrazierState.UNLIT;
+    }
+  }
+
+  /**
+   * Lowers the player's warmth, knocking the player out and losing the roots and kindling if it runs out
+   */
+  public void damage(int amount) {
+    warmth -= amount;
+    if (warmth > 0) {
+      return;
+    }
+
+    knockouts++;
+    warmth = MAX_WARMTH;
+    roots = 0;
+    kindling = 0;
+    location = Location.WAITING;
+    destination = null;
+  }
+
+  /**
+   * Knocks out the pyromancer of a gang, putting its brazier out until the pyromancer is healed
+   */
+  public void incapacitate(Gang gang, int ticks) {
+    int index = gang.ordinal();
+    incapacitated[index] = Math.max(incapacitated[index], ticks);
+    if (braziers[index] == BrazierState.LIT) {
+      braziers[index] = BrazierState.UNLIT;
+    }
+  }
+
+  public void setBrazier(Gang gang, BrazierState state) {
+    braziers[gang.ordinal()] = state;
+  }
+
+  public BrazierState getBrazier(Gang gang) {
+    return braziers[gang.ordinal()];
+  }
+
+  public boolean isIncapacitated(Gang gang) {
+    return incapacitated[gang.ordinal()] > 0;
+  }
+
+  public boolean isRespawning() {
+    return respawnTimer > 0;
+  }
+
+  public int getRespawnTimer() {
+    return respawnTimer;
+  }
+
+  /**
+   * @return The boss energy as a percentage, 0 while respawning
+   */
+  public int getEnergy() {
+    return respawnTimer > 0 ? 0 : Math.max(0, health * 100 / BOSS_HEALTH);
+  }
+
+  /**
+   * @return Ticks needed to walk to the brazier and light it, as calculated by the light task
+   */
+  public int getLightTicks() {
+    return getTravelTicks(location, Location.BRAZIER) + Activity.LIGHT.getDuration();
+  }
+
+  /**
+   * @return Ticks needed to walk from the player to the given location, 0 if the player is already there
+   */
+  public int getTicksTo(Location location) {
+    return this.location == location ? 0 : getTravelTicks(this.location, location);
+  }
+
+  public int getFreeSlots() {
+    return BACKPACK_SLOTS - TOOL_SLOTS - food - roots - kindling;
+  }
+
+  public int getWarmthPercent() {
+    return warmth / 10;
+  }
+
+  public boolean isMoving() {
+    return destination != null;
+  }
+
+  public Gang getGang() {
+    return gang;
+  }
+
+  public boolean isFletch() {
+    return fletch;
+  }
+
+  public Location getLocation() {
+    return location;
+  }
+
+  public Activity getActivity() {
+    return activity;
+  }
+
+  public int getTick() {
+    return tick;
+  }
+
+  public int getPoints() {
+    return points;
+  }
+
+  public int getRoots() {
+    return roots;
+  }
+
+  public int getKindling() {
+    return kindling;
+  }
+
+  public int getFood() {
+    return food;
+  }
+
+  public int getGames() {
+    return games;
+  }
+
+  public int getRewards() {
+    return rewards;
+  }
+
+  public int getTotalPoints() {
+    return totalPoints;
+  }
+
+  public int getEaten() {
+    return eaten;
+  }
+
+  public int getKnockouts() {
+    return knockouts;
+  }
+
+  public int getBankTrips() {
+    return bankTrips;
+  }
+}
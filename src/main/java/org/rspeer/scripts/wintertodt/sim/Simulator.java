@@ -0,0 +1,47 @@
+package org.rspeer.scripts.wintertodt.sim;
+
+import org.rspeer.scripts.wintertodt.data.Gang;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs whole Wintertodt games against the {@link ScriptPolicy} without a game client.
+ * Usage: Simulator [games] [seed] [fletch] [gang]
+ */
+public class Simulator {
+
+  private static final double SECONDS_PER_TICK = 0.6;
+
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+    boolean fletch = args.length > 2 && Boolean.parseBoolean(args[2]);
+    Gang gang = args.length > 3 ? Gang.valueOf(args[3]) : Gang.WEST;
+
+    Random random = new Random(seed);
+    List<GameHook> hooks = Arrays.asList(
+        GameHook.snowfall(0.01, 80),
+        GameHook.pyromancer(0.002, 20)
+    );
+
+    SimGame game = new SimGame(gang, fletch, 10, 4, 2, 0.05, random, hooks);
+    Policy policy = new ScriptPolicy(random);
+
+    long start = System.nanoTime();
+    while (game.getGames() < games) {
+      game.tick(policy);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    double hours = game.getTick() * SECONDS_PER_TICK / 3600;
+    System.out.printf("Simulated %d games (%d ticks) in %.2f ms%n", games, game.getTick(), elapsed / 1e6);
+    System.out.printf("Points/hour: %.0f%n", game.getTotalPoints() / hours);
+    System.out.printf("Points/game: %.1f%n", (double) game.getTotalPoints() / games);
+    System.out.printf("Rewards: %d (%.1f%%)%n", game.getRewards(), game.getRewards() * 100.0 / games);
+    System.out.printf("Food/game: %.2f%n", (double) game.getEaten() / games);
+    System.out.printf("Bank trips: %d%n", game.getBankTrips());
+    System.out.printf("Knockouts: %d%n", game.getKnockouts());
+  }
+}
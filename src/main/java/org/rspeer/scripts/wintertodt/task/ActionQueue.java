@@ -0,0 +1,352 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.scene.SceneObject;
+import org.rspeer.game.component.Item;
+import org.rspeer.game.position.Position;
+import org.rspeer.scripts.wintertodt.api.gateway.SceneGateway;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Central queue for game interactions, limiting how many are sent per tick.
+ * An interaction identical to one that is still pending, or that was already sent this tick, is dropped.
+ * Interactions are identified by a key packing the slot or object, the item or object id and the action,
+ * so checking for a duplicate allocates nothing.
+ * Pending interactions are sent in order, lowest first, so bulk item actions run in slot order.
+ * A batch of dependent interactions is never queued, it is sent as a whole right away or rejected
+ * if the remaining budget of the tick can't fit it.
+ * Whatever doesn't fit in the budget of a tick is sent by {@link DomainTask} on the following ticks,
+ * after checking the item is still in its slot or the object still exists, and skipped otherwise.
+ * Each interaction belongs to the task that queued it, the {@link TaskDispatcher} releases a task's interactions
+ * when it stops claiming the loop, and every interaction when the game phase changes.
+ */
+@Singleton
+public class ActionQueue {
+
+  /** Interactions sent per tick, overridable through -Dwintertodt.clicks **/
+  private static final int DEFAULT_BUDGET = Integer.getInteger("wintertodt.clicks", 8);
+
+  /** Key layout, the kind in the top 2 bits and the action index in the next 6 **/
+  private static final long ITEM = 1L << 62;
+  private static final long OBJECT = 2L << 62;
+  private static final int ACTION_SHIFT = 56;
+  private static final int MAX_ACTIONS = 1 << 6;
+
+  private final Domain domain;
+  private final SceneGateway scene;
+
+  private final List<Entry> pending = new ArrayList<>();
+
+  /** Keys sent during the current tick **/
+  private long[] sent = new long[DEFAULT_BUDGET];
+  private int sentCount;
+
+  /** Actions seen so far, indexed into the keys **/
+  private final List<String> actionNames = new ArrayList<>();
+
+  private int budget = DEFAULT_BUDGET;
+  private int tick = -1;
+  private int spent;
+
+  private int clicks;
+  private int duplicates;
+  private int wasted;
+  private int stale;
+  private int rejected;
+
+  @Inject
+  public ActionQueue(Domain domain, SceneGateway scene) {
+    this.domain = domain;
+    this.scene = scene;
+  }
+
+  /**
+   * Queues an interaction with an item, ordered by its slot
+   *
+   * @param owner The task queuing the interaction
+   * @return false if the interaction was dropped as a duplicate
+   */
+  public boolean submit(Object owner, Item item, String action) {
+    boolean queued = enqueue(owner, item, action);
+    flush();
+    return queued;
+  }
+
+  /**
+   * Queues the same interaction with every item, sent in slot order
+   *
+   * @param owner The task queuing the interactions
+   * @return The amount of interactions queued
+   */
+  public int submitAll(Object owner, List<Item> items, String action) {
+    int queued = 0;
+    for (Item item : items) {
+      if (enqueue(owner, item, action)) {
+        queued++;
+      }
+    }
+
+    flush();
+    return queued;
+  }
+
+  /**
+   * Queues an interaction with a scene object, ahead of any item interactions
+   *
+   * @param owner The task queuing the interaction
+   * @return false if the interaction was dropped as a duplicate
+   */
+  public boolean submit(Object owner, SceneObject object, String action) {
+    int id = object.getId();
+    Position position = object.getPosition();
+    long key = OBJECT
+        | (long) getActionIndex(action) << ACTION_SHIFT
+        | (long) (position.getFloorLevel() & 0x3) << 54
+        | (long) (position.getX() & 0x3FFF) << 40
+        | (long) (position.getY() & 0x3FFF) << 26
+        | id & 0x3FFFFFF;
+    boolean queued = enqueue(owner, key, -1, 1,
+        () -> scene.findObject(id, position) != null,
+        () -> object.interact(action));
+    flush();
+    return queued;
+  }
+
+  /**
+   * Sends interactions that must go out in order within the same tick, such as a weapon switch and an attack.
+   * The batch is sent right away, ahead of anything still pending, and is never queued for a later tick.
+   * Every step is sent even if an earlier one fails, and each step counts as a click.
+   *
+   * @param valid Checks that whatever the steps interact with is still there, right before they are sent
+   * @return true only if the batch was sent in this tick
+   */
+  public boolean submitBatch(BooleanSupplier valid, BooleanSupplier... steps) {
+    refresh();
+    if (spent + steps.length > budget) {
+      rejected++;
+      return false;
+    }
+
+    if (!valid.getAsBoolean()) {
+      stale++;
+      return false;
+    }
+
+    clicks += steps.length;
+    spent += steps.length;
+    for (BooleanSupplier step : steps) {
+      if (!step.getAsBoolean()) {
+        wasted++;
+      }
+    }
+    return true;
+  }
+
+  private boolean enqueue(Object owner, Item item, String action) {
+    int slot = item.getIndex();
+    int id = item.getId();
+    long key = ITEM
+        | (long) getActionIndex(action) << ACTION_SHIFT
+        | (long) (slot & 0xFF) << 32
+        | id & 0xFFFFFFFFL;
+    return enqueue(owner, key, slot, 1,
+        () -> domain.getInventory().getId(slot) == id,
+        () -> item.interact(action));
+  }
+
+  private boolean enqueue(Object owner, long key, int order, int cost, BooleanSupplier valid, BooleanSupplier click) {
+    refresh();
+    if (isSent(key) || isPending(key)) {
+      duplicates++;
+      return false;
+    }
+
+    pending.add(new Entry(owner, key, order, cost, valid, click));
+    return true;
+  }
+
+  private int getActionIndex(String action) {
+    int index = actionNames.indexOf(action);
+    if (index != -1) {
+      return index;
+    }
+
+    if (actionNames.size() == MAX_ACTIONS) {
+      throw new IllegalStateException("More than " + MAX_ACTIONS + " distinct actions");
+    }
+
+    actionNames.add(action);
+    return actionNames.size() - 1;
+  }
+
+  private boolean isPending(long key) {
+    for (int i = 0; i < pending.size(); i++) {
+      if (pending.get(i).key == key) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isSent(long key) {
+    for (int i = 0; i < sentCount; i++) {
+      if (sent[i] == key) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void markSent(long key) {
+    if (sentCount == sent.length) {
+      sent = Arrays.copyOf(sent, Math.max(4, sentCount * 2));
+    }
+    sent[sentCount++] = key;
+  }
+
+  /**
+   * Sends pending interactions until the budget of the current tick is spent
+   *
+   * @return The amount of interactions and batches sent
+   */
+  public int flush() {
+    refresh();
+    if (pending.isEmpty() || spent >= budget) {
+      return 0;
+    }
+
+    pending.sort(Entry.ORDER);
+    int count = 0;
+    int index = 0;
+    while (index < pending.size()) {
+      Entry entry = pending.get(index);
+      // Entries are sent in order, and an entry larger than the whole budget goes alone at the start of a tick
+      if (spent + entry.cost > budget && spent > 0) {
+        break;
+      }
+
+      index++;
+      if (!entry.valid.getAsBoolean()) {
+        //The item moved or the object is gone since the interaction was queued
+        stale++;
+        continue;
+      }
+
+      markSent(entry.key);
+      clicks += entry.cost;
+      spent += entry.cost;
+      count++;
+      if (!entry.click.getAsBoolean()) {
+        wasted++;
+      }
+    }
+
+    pending.subList(0, index).clear();
+    return count;
+  }
+
+  private void refresh() {
+    int now = domain.getSnapshot().getTick();
+    if (now != tick) {
+      tick = now;
+      spent = 0;
+      sentCount = 0;
+    }
+  }
+
+  /**
+   * Drops the pending interactions queued by the given owner, such as when its task no longer applies
+   */
+  public void release(Object owner) {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    Iterator<Entry> iterator = pending.iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.owner == owner) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Drops every pending interaction, such as when the game phase changed
+   */
+  public void clear() {
+    pending.clear();
+  }
+
+  public void setBudget(int budget) {
+    this.budget = budget;
+  }
+
+  public int getPending() {
+    return pending.size();
+  }
+
+  /**
+   * @return The amount of interactions sent
+   */
+  public int getClicks() {
+    return clicks;
+  }
+
+  /**
+   * @return The amount of interactions dropped because an identical one was pending or already sent this tick
+   */
+  public int getDuplicates() {
+    return duplicates;
+  }
+
+  /**
+   * @return The amount of interactions sent that the client reported as failed
+   */
+  public int getWasted() {
+    return wasted;
+  }
+
+  /**
+   * @return The amount of interactions skipped because their item or object changed before they were sent
+   */
+  public int getStale() {
+    return stale;
+  }
+
+  /**
+   * @return The amount of batches rejected because the remaining budget of their tick couldn't fit them
+   */
+  public int getRejected() {
+    return rejected;
+  }
+
+  private static class Entry {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(entry -> entry.order);
+
+    private final Object owner;
+    private final long key;
+    private final int order;
+    private final int cost;
+    private final BooleanSupplier valid;
+    private final BooleanSupplier click;
+
+    private Entry(Object owner, long key, int order, int cost, BooleanSupplier valid, BooleanSupplier click) {
+      this.owner = owner;
+      this.key = key;
+      this.order = order;
+      this.cost = cost;
+      this.valid = valid;
+      this.click = click;
+    }
+  }
+}
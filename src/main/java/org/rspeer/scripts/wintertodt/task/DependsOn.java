@@ -0,0 +1,16 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares every fact a task's guard reads. When a task declaring its dependencies was rejected,
+ * the {@link TaskDispatcher} reuses that verdict until one of the declared facts changes.
+ * Only annotate tasks whose rejection depends on nothing but the declared facts.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DependsOn {
+
+  Fact[] value();
+}
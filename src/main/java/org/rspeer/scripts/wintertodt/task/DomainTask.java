@@ -0,0 +1,34 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import com.google.inject.Inject;
+import org.rspeer.game.script.Task;
+import org.rspeer.game.script.TaskDescriptor;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+
+/**
+ * Applies the events queued by the client's dispatcher thread before any other task
+ * reads the domain, and sends interactions left over in the {@link ActionQueue} from previous ticks.
+ * Never claims the loop, so the tasks below it are always evaluated.
+ */
+@TaskDescriptor(
+    name = "Domain",
+    priority = Integer.MAX_VALUE
+)
+public class DomainTask extends Task {
+
+  private final Domain domain;
+  private final ActionQueue actions;
+
+  @Inject
+  public DomainTask(Domain domain, ActionQueue actions) {
+    this.domain = domain;
+    this.actions = actions;
+  }
+
+  @Override
+  public boolean execute() {
+    domain.drain();
+    actions.flush();
+    return false;
+  }
+}
@@ -0,0 +1,43 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import org.rspeer.scripts.wintertodt.api.Warmth;
+import org.rspeer.scripts.wintertodt.api.gateway.GameGateway;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+
+/**
+ * A piece of game state that task guards depend on. Each fact is sampled at most once per tick
+ * by the {@link TaskDispatcher}, which tracks a version that is bumped whenever the sampled value changes.
+ */
+public enum Fact {
+
+  WARMTH((game, domain, phase) -> Warmth.getPercent(game.vars())),
+
+  ROOTS((game, domain, phase) -> domain.getInventory().getRoots()),
+
+  FOOD((game, domain, phase) -> domain.getInventory().getFood()),
+
+  /**
+   * Covers both whether we are inside the Wintertodt region and the boss respawn state
+   */
+  PHASE((game, domain, phase) -> phase.ordinal()),
+
+  /**
+   * The run energy, or -1 if run is already enabled
+   */
+  RUN_ENERGY((game, domain, phase) -> game.movement().isRunEnabled() ? -1 : game.movement().getRunEnergy());
+
+  private final Sampler sampler;
+
+  Fact(Sampler sampler) {
+    this.sampler = sampler;
+  }
+
+  int sample(GameGateway game, Domain domain, Phase phase) {
+    return sampler.sample(game, domain, phase);
+  }
+
+  private interface Sampler {
+    int sample(GameGateway game, Domain domain, Phase phase);
+  }
+}
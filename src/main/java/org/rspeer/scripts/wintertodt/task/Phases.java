@@ -0,0 +1,18 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import org.rspeer.scripts.wintertodt.data.Phase;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares which game phases a task is registered for. The {@link TaskDispatcher}
+ * rejects the task without evaluating any of its predicates while the game is in any other phase.
+ * Tasks without this annotation are evaluated in every phase, or every in-game phase for GameTasks.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Phases {
+
+  Phase[] value();
+}
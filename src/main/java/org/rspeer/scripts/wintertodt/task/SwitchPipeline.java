@@ -0,0 +1,199 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.component.inventory.Equipment;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.component.Item;
+import org.rspeer.scripts.f2ppker.data.WeaponClass;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.domain.DomainSnapshot;
+import org.rspeer.scripts.wintertodt.domain.JournalEvent;
+import org.rspeer.scripts.wintertodt.domain.State;
+
+/**
+ * Switches between the bow and the 2H and attacks in the same tick.
+ * The backpack slots of both weapons are tracked as the backpack changes, so a switch needs no item query,
+ * and the wield and the attack are sent through the {@link ActionQueue} as one ordered batch,
+ * right away or not at all, after checking the weapon is still in its slot and the target still in the scene.
+ * Each switch is measured from the tick it was sent to the tick its attack animation is seen,
+ * anything beyond the single tick the server takes to act on it counts as ticks lost.
+ */
+@Singleton
+public class SwitchPipeline {
+
+  /** Ticks after the attack was sent to wait for its animation before the switch is counted as failed **/
+  private static final int TIMEOUT_TICKS = 5;
+
+  private final Domain domain;
+  private final InventoryGateway inventories;
+  private final ActionQueue actions;
+
+  /** Backpack version the weapon slots were found at **/
+  private int version = -1;
+  private Item bow;
+  private Item twoHanded;
+
+  /** Switch in flight, waiting for its attack animation **/
+  private WeaponClass switching;
+  private int sentTick = -1;
+
+  private int switches;
+  private int timeouts;
+  private int ticksLost;
+  private int lastTicksLost;
+
+  @Inject
+  public SwitchPipeline(Domain domain, InventoryGateway inventories, ActionQueue actions) {
+    this.domain = domain;
+    this.inventories = inventories;
+    this.actions = actions;
+  }
+
+  /**
+   * Wields the weapon if it isn't already wielded and attacks the target, within the same tick
+   *
+   * @param weapon Either {@link WeaponClass#BOW} or {@link WeaponClass#TWO_HANDED}
+   * @return false if the weapon isn't carried, the target is gone, a switch was already sent this tick
+   * or it doesn't fit in what is left of the tick's budget
+   */
+  public boolean switchAndAttack(WeaponClass weapon, Player target) {
+    update();
+    //Only one attack can go out per tick, so a second switch in the same tick is a duplicate
+    if (sentTick == domain.getSnapshot().getTick()) {
+      return false;
+    }
+
+    ItemCategory category = getCategory(weapon);
+    String name = target.getName();
+    boolean sent;
+    if (isWielded(category)) {
+      sent = actions.submitBatch(
+          () -> isPresent(name),
+          () -> target.interact("Attack"));
+    } else {
+      Item item = getWeapon(category);
+      if (item == null) {
+        return false;
+      }
+
+      int slot = item.getIndex();
+      int id = item.getId();
+      sent = actions.submitBatch(
+          () -> domain.getInventory().getId(slot) == id && isPresent(name),
+          () -> item.interact("Wield"),
+          () -> target.interact("Attack"));
+    }
+
+    if (!sent) {
+      return false;
+    }
+
+    // The switch and attack go out together, so there is no separate preparing step
+    State state = domain.getState();
+    if (weapon == WeaponClass.TWO_HANDED) {
+      state.setCurrentState(State.BotState.EXECUTING_2H);
+    } else {
+      state.setNeedToEquipBow(false);
+      state.setNeedToAttack(false);
+    }
+
+    switching = weapon;
+    sentTick = domain.getSnapshot().getTick();
+    return true;
+  }
+
+  private static ItemCategory getCategory(WeaponClass weapon) {
+    if (weapon == WeaponClass.BOW) {
+      return ItemCategory.SHORTBOW;
+    }
+
+    if (weapon == WeaponClass.TWO_HANDED) {
+      return ItemCategory.TWO_HANDED;
+    }
+
+    throw new IllegalArgumentException("Can't switch to " + weapon);
+  }
+
+  private boolean isPresent(String name) {
+    return domain.getPlayers().get(name) != null;
+  }
+
+  private boolean isWielded(ItemCategory category) {
+    Equipment equipment = inventories.equipment();
+    if (equipment == null) {
+      return false;
+    }
+
+    Item mainHand = equipment.getItemAt(Equipment.Slot.MAINHAND);
+    return mainHand != null && ItemClassifier.is(mainHand, category);
+  }
+
+  private Item getWeapon(ItemCategory category) {
+    int version = domain.getInventory().getVersion();
+    if (version != this.version) {
+      this.version = version;
+      bow = ItemClassifier.first(inventories.backpack(), ItemCategory.SHORTBOW);
+      twoHanded = ItemClassifier.first(inventories.backpack(), ItemCategory.TWO_HANDED);
+    }
+
+    return category == ItemCategory.SHORTBOW ? bow : twoHanded;
+  }
+
+  /**
+   * Completes the measurement of the switch in flight once its attack animation is seen, or it timed out
+   */
+  private void update() {
+    if (switching == null) {
+      return;
+    }
+
+    DomainSnapshot snapshot = domain.getSnapshot();
+    int now = snapshot.getTick();
+    int animated = snapshot.getLastAnimationTick();
+    if (animated > sentTick && snapshot.getLastAnimation() == switching.getAnimation()) {
+      // The server acts on a click on the tick after it was sent
+      lastTicksLost = animated - sentTick - 1;
+      ticksLost += lastTicksLost;
+      switches++;
+      domain.getJournal().record(JournalEvent.SWITCH_COMPLETED, switching.ordinal(), lastTicksLost);
+      switching = null;
+    } else if (now - sentTick > TIMEOUT_TICKS) {
+      timeouts++;
+      domain.getJournal().record(JournalEvent.SWITCH_TIMED_OUT, switching.ordinal(), now - sentTick);
+      switching = null;
+    }
+  }
+
+  /**
+   * @return The amount of switches whose attack was seen
+   */
+  public int getSwitches() {
+    update();
+    return switches;
+  }
+
+  /**
+   * @return The amount of switches whose attack was never seen
+   */
+  public int getTimeouts() {
+    update();
+    return timeouts;
+  }
+
+  /**
+   * @return The ticks lost over every completed switch, 0 if every attack landed on the tick after it was sent
+   */
+  public int getTicksLost() {
+    update();
+    return ticksLost;
+  }
+
+  public int getLastTicksLost() {
+    update();
+    return lastTicksLost;
+  }
+}
@@ -0,0 +1,203 @@
+package org.rspeer.scripts.wintertodt.task;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.script.Task;
+import org.rspeer.scripts.wintertodt.api.gateway.GameGateway;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.game.GameTask;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Indexes the registered tasks by the game phase they apply to.
+ * The phase is computed once per tick, after which a task outside of its phase is
+ * rejected with a single mask check rather than its own isInGame/isRespawning predicates.
+ *
+ * Tasks annotated with {@link DependsOn} additionally have their rejections remembered,
+ * and are not re-evaluated until one of the facts they depend on changes.
+ * A rejected task has its pending interactions released from the {@link ActionQueue},
+ * and every pending interaction is dropped when the phase changes.
+ */
+@Singleton
+public class TaskDispatcher {
+
+  private static final int IN_GAME = Phase.mask(Phase.RESPAWNING, Phase.ACTIVE);
+  private static final int ALL = Phase.mask(Phase.values());
+
+  private static final Fact[] FACTS = Fact.values();
+
+  private static final ClassValue<Integer> MASKS = new ClassValue<>() {
+    @Override
+    protected Integer computeValue(Class<?> type) {
+      Phases phases = type.getAnnotation(Phases.class);
+      if (phases != null) {
+        return Phase.mask(phases.value());
+      }
+
+      return GameTask.class.isAssignableFrom(type) ? IN_GAME : ALL;
+    }
+  };
+
+  private static final ClassValue<Fact[]> DEPENDENCIES = new ClassValue<>() {
+    @Override
+    protected Fact[] computeValue(Class<?> type) {
+      DependsOn dependencies = type.getAnnotation(DependsOn.class);
+      return dependencies != null ? dependencies.value() : new Fact[0];
+    }
+  };
+
+  private final Domain domain;
+  private final GameGateway game;
+  private final ActionQueue actions;
+
+  private int tick = -1;
+  private Phase phase = Phase.PREPARE;
+
+  /** Last sampled value, version and sample tick of each fact, indexed by ordinal **/
+  private final int[] values = new int[FACTS.length];
+  private final int[] versions = new int[FACTS.length];
+  private final int[] sampled = new int[FACTS.length];
+
+  private final Map<Task, int[]> rejections = new IdentityHashMap<>();
+
+  private int rejected;
+  private int evaluated;
+  private int saved;
+  private int savedThisTick;
+  private int savedLastTick;
+
+  @Inject
+  public TaskDispatcher(Domain domain, GameGateway game, ActionQueue actions) {
+    this.domain = domain;
+    this.game = game;
+    this.actions = actions;
+    Arrays.fill(sampled, -1);
+  }
+
+  public Phase getPhase() {
+    int now = domain.getSnapshot().getTick();
+    if (now != tick) {
+      Phase phase = Phase.of(domain.getWorld().isInGame(), domain.getBoss().isRespawning());
+      if (phase != this.phase) {
+        actions.clear();
+      }
+
+      this.phase = phase;
+      tick = now;
+      savedLastTick = savedThisTick;
+      savedThisTick = 0;
+    }
+    return phase;
+  }
+
+  public boolean isScheduled(Task task) {
+    if ((MASKS.get(task.getClass()) & getPhase().getMask()) != 0) {
+      return true;
+    }
+
+    rejected++;
+    actions.release(task);
+    return false;
+  }
+
+  /**
+   * Evaluates the guard of a task, or reuses its previous rejection if
+   * none of the facts the task depends on have changed since.
+   *
+   * @param task  The task being evaluated
+   * @param guard The task body, returning false if the task did not apply
+   * @return The result of the guard, or false if a previous rejection still holds
+   */
+  public boolean evaluate(Task task, BooleanSupplier guard) {
+    Fact[] dependencies = DEPENDENCIES.get(task.getClass());
+    if (dependencies.length == 0) {
+      if (guard.getAsBoolean()) {
+        return true;
+      }
+
+      actions.release(task);
+      return false;
+    }
+
+    int[] seen = rejections.get(task);
+    if (seen != null && isUnchanged(dependencies, seen)) {
+      saved++;
+      savedThisTick++;
+      actions.release(task);
+      return false;
+    }
+
+    evaluated++;
+    if (guard.getAsBoolean()) {
+      rejections.remove(task);
+      return true;
+    }
+
+    actions.release(task);
+    if (seen == null) {
+      seen = new int[FACTS.length];
+      rejections.put(task, seen);
+    }
+
+    for (Fact fact : dependencies) {
+      seen[fact.ordinal()] = getVersion(fact);
+    }
+    return false;
+  }
+
+  private boolean isUnchanged(Fact[] dependencies, int[] seen) {
+    for (Fact fact : dependencies) {
+      if (seen[fact.ordinal()] != getVersion(fact)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int getVersion(Fact fact) {
+    Phase phase = getPhase();
+    int index = fact.ordinal();
+    if (sampled[index] != tick) {
+      int value = fact.sample(game, domain, phase);
+      if (value != values[index]) {
+        values[index] = value;
+        versions[index]++;
+      }
+      sampled[index] = tick;
+    }
+    return versions[index];
+  }
+
+  /**
+   * @return The amount of task evaluations skipped because the task was outside of its phase
+   */
+  public int getRejected() {
+    return rejected;
+  }
+
+  /**
+   * @return The amount of guards of dependency-tracked tasks that were actually evaluated
+   */
+  public int getEvaluated() {
+    return evaluated;
+  }
+
+  /**
+   * @return The amount of guard evaluations saved by reusing a previous rejection
+   */
+  public int getSaved() {
+    return saved;
+  }
+
+  /**
+   * @return The amount of guard evaluations saved during the previous tick
+   */
+  public int getSavedLastTick() {
+    return savedLastTick;
+  }
+}
@@ -2,13 +2,14 @@ package org.rspeer.scripts.wintertodt.task.game;
 
 import org.rspeer.scripts.wintertodt.data.Action;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
 public abstract class ActionTask extends GameTask {
 
   protected final Action action;
 
-  protected ActionTask(Domain domain, Action action) {
-    super(domain);
+  protected ActionTask(Domain domain, TaskDispatcher dispatcher, Action action) {
+    super(domain, dispatcher);
     this.action = action;
   }
 }
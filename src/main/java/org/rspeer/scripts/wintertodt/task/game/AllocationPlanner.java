@@ -0,0 +1,201 @@
+package org.rspeer.scripts.wintertodt.task.game;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.adapter.scene.Player;
+import org.rspeer.game.position.Position;
+import org.rspeer.scripts.wintertodt.api.Items;
+import org.rspeer.scripts.wintertodt.api.gateway.MovementGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
+import org.rspeer.scripts.wintertodt.data.Allocation;
+import org.rspeer.scripts.wintertodt.data.Gang;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.domain.Arena;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.domain.InventoryCounters;
+import org.rspeer.scripts.wintertodt.domain.JournalEvent;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
+
+/**
+ * Decides once per tick whether the player should chop, fletch or burn, replacing the fixed
+ * chop-until-full heuristic. The remaining game time is estimated from how fast the boss energy has dropped so far,
+ * and work is only started if everything carried can still be burnt before the boss goes down.
+ * Once the points carried are enough to reach the reward threshold, they are burnt straight away to secure it.
+ * Within that deadline, kindling is worth more points per tick than burning roots directly,
+ * so roots are fletched whenever there is time for it, and the backpack is filled while there is time to burn it all.
+ * Every change of allocation is recorded in the journal with its reason.
+ * The estimate and the plan are pure functions of the game state, so the simulator runs the same rules.
+ */
+@Singleton
+public class AllocationPlanner {
+
+  private static final int CHOP_TICKS = 4;
+  private static final int FLETCH_TICKS = 3;
+  private static final int FEED_TICKS = 3;
+
+  /** Ticks kept in reserve so the last item isn't still in hand when the boss goes down **/
+  private static final int SAFETY_TICKS = 5;
+
+  /** Expected game length before enough energy has been drained to measure it **/
+  private static final int DEFAULT_GAME_TICKS = 400;
+  private static final int MIN_SAMPLE_TICKS = 10;
+
+  /** Points needed in a game before it pays out a reward **/
+  private static final int REWARD_POINTS = 500;
+
+  private final Domain domain;
+  private final TaskDispatcher dispatcher;
+  private final PlayerGateway players;
+  private final MovementGateway movement;
+
+  private int tick = -1;
+  private int start = -1;
+  private int startEnergy;
+  private int remaining;
+
+  private Allocation allocation = Allocation.CHOP;
+  private Allocation.Reason reason = Allocation.Reason.NOTHING_TO_BURN;
+
+  @Inject
+  public AllocationPlanner(Domain domain, TaskDispatcher dispatcher, PlayerGateway players, MovementGateway movement) {
+    this.domain = domain;
+    this.dispatcher = dispatcher;
+    this.players = players;
+    this.movement = movement;
+  }
+
+  public Allocation decide() {
+    int now = domain.getSnapshot().getTick();
+    if (now == tick) {
+      return allocation;
+    }
+
+    tick = now;
+    if (dispatcher.getPhase() != Phase.ACTIVE) {
+      start = -1;
+      return allocation;
+    }
+
+    if (start == -1) {
+      start = now;
+      startEnergy = domain.getBoss().getEnergy();
+    }
+
+    remaining = estimateRemainingTicks(domain.getBoss().getEnergy(), startEnergy, now - start);
+    Allocation.Reason reason = plan();
+    Allocation allocation = toAllocation(reason);
+    if (allocation != this.allocation) {
+      domain.getJournal().record(JournalEvent.ALLOCATION_CHANGED, allocation.ordinal() << 8 | reason.ordinal(), remaining);
+    }
+
+    this.allocation = allocation;
+    this.reason = reason;
+    return allocation;
+  }
+
+  /**
+   * @param energy      The current boss energy
+   * @param startEnergy The boss energy on the first tick the game was seen active
+   * @param elapsed     Ticks since the game was first seen active
+   * @return The estimated amount of ticks left in the game
+   */
+  public static int estimateRemainingTicks(int energy, int startEnergy, int elapsed) {
+    int drained = startEnergy - energy;
+    if (drained <= 0 || elapsed < MIN_SAMPLE_TICKS) {
+      return energy * DEFAULT_GAME_TICKS / 100;
+    }
+
+    return energy * elapsed / drained;
+  }
+
+  private Allocation.Reason plan() {
+    InventoryCounters inventory = domain.getInventory();
+    int roots = inventory.getRoots();
+    int kindling = inventory.getKindling();
+    if (roots + kindling == 0) {
+      return Allocation.Reason.NOTHING_TO_BURN;
+    }
+
+    Player self = players.self();
+    if (self == null) {
+      return reason;
+    }
+
+    Gang gang = domain.getState().getGang();
+    boolean running = movement.isRunEnabled();
+    int toBrazier = getTicks(gang, Arena.Target.BRAZIER, gang.getBrazier(), self.getPosition(), running);
+    int toRoots = getTicks(gang, Arena.Target.ROOTS, gang.getRoots(), self.getPosition(), running);
+    return plan(roots, kindling, inventory.getFreeSlots(), domain.getBoss().getPoints(),
+        domain.getConfig().isFletch(), toBrazier, toRoots, remaining);
+  }
+
+  /**
+   * @param toBrazier Ticks to walk from the player to the brazier
+   * @param toRoots   Ticks to walk from the player to the roots
+   * @param remaining The estimated amount of ticks left in the game
+   * @return Why the player should chop, fletch or burn next
+   */
+  public static Allocation.Reason plan(int roots, int kindling, int freeSlots, int points,
+                                       boolean fletch, int toBrazier, int toRoots, int remaining) {
+    int carried = roots + kindling;
+    if (carried == 0) {
+      return Allocation.Reason.NOTHING_TO_BURN;
+    }
+
+    int deadline = remaining - SAFETY_TICKS;
+    if (toBrazier + carried * FEED_TICKS >= deadline) {
+      return Allocation.Reason.DEADLINE;
+    }
+
+    int stored = roots * Items.ROOT_POINTS + kindling * Items.KINDLING_POINTS;
+    if (points < REWARD_POINTS && points + stored >= REWARD_POINTS) {
+      return Allocation.Reason.SECURING_REWARD;
+    }
+
+    int fletching = fletch ? (roots + 1) * FLETCH_TICKS : 0;
+    if (freeSlots > 0
+        && toRoots + CHOP_TICKS + toBrazier + fletching + (carried + 1) * FEED_TICKS < deadline) {
+      return Allocation.Reason.FILLING_BACKPACK;
+    }
+
+    //Kindling is worth more than a root for the same feed, so a root is fletched whenever the extra ticks still fit
+    if (fletch && roots > 0 && toBrazier + FLETCH_TICKS + carried * FEED_TICKS < deadline) {
+      return Allocation.Reason.FLETCHING_PAYS;
+    }
+
+    return Allocation.Reason.BURNING_STOCK;
+  }
+
+  private int getTicks(Gang gang, Arena.Target target, Position fallback, Position from, boolean running) {
+    int ticks = domain.getArena().ticksTo(gang, target, from, running);
+    if (ticks == -1) {
+      //Running 2 tiles is a 1 tick action (or walking 1 tile)
+      double distance = fallback.distance(from);
+      ticks = (int) (running ? distance / 2 : distance);
+    }
+    return ticks;
+  }
+
+  public static Allocation toAllocation(Allocation.Reason reason) {
+    switch (reason) {
+      case NOTHING_TO_BURN:
+      case FILLING_BACKPACK:
+        return Allocation.CHOP;
+      case FLETCHING_PAYS:
+        return Allocation.FLETCH;
+      default:
+        return Allocation.BURN;
+    }
+  }
+
+  /**
+   * @return The estimated amount of ticks left in the current game, as of the last decision
+   */
+  public int getRemainingTicks() {
+    return remaining;
+  }
+
+  public Allocation.Reason getReason() {
+    return reason;
+  }
+}
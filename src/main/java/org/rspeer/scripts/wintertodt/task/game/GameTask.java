@@ -1,20 +1,26 @@
 package org.rspeer.scripts.wintertodt.task.game;
 
 import org.rspeer.game.script.Task;
-import org.rspeer.scripts.wintertodt.api.Province;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
+
+import java.util.function.BooleanSupplier;
 
 public abstract class GameTask extends Task {
 
   protected final Domain domain;
+  protected final TaskDispatcher dispatcher;
+
+  private final BooleanSupplier guard = this::play;
 
-  protected GameTask(Domain domain) {
+  protected GameTask(Domain domain, TaskDispatcher dispatcher) {
     this.domain = domain;
+    this.dispatcher = dispatcher;
   }
 
   @Override
   public final boolean execute() {
-    return Province.isInGame() && play();
+    return dispatcher.isScheduled(this) && dispatcher.evaluate(this, guard);
   }
 
   protected abstract boolean play();
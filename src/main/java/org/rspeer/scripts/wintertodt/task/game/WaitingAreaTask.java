@@ -1,15 +1,24 @@
 package org.rspeer.scripts.wintertodt.task.game;
 
 import com.google.inject.Inject;
-import org.rspeer.game.component.Inventories;
 import org.rspeer.game.component.Item;
-import org.rspeer.game.movement.Movement;
-import org.rspeer.game.scene.Players;
+import org.rspeer.game.position.Position;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Items;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.MovementGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
 import org.rspeer.scripts.wintertodt.data.Constant;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.DependsOn;
+import org.rspeer.scripts.wintertodt.task.Fact;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+@Phases(Phase.ACTIVE)
+@DependsOn(Fact.FOOD)
 @TaskDescriptor(
     name = "Waiting",
     blocking = true,
@@ -17,30 +26,34 @@ import org.rspeer.scripts.wintertodt.domain.Domain;
 )
 public class WaitingAreaTask extends GameTask {
 
+  private final PlayerGateway players;
+  private final InventoryGateway inventories;
+  private final MovementGateway movement;
+
   @Inject
-  public WaitingAreaTask(Domain domain) {
-    super(domain);
+  public WaitingAreaTask(Domain domain, TaskDispatcher dispatcher, PlayerGateway players,
+                         InventoryGateway inventories, MovementGateway movement) {
+    super(domain, dispatcher);
+    this.players = players;
+    this.inventories = inventories;
+    this.movement = movement;
   }
 
   @Override
   protected boolean play() {
-    if (domain.getBoss().isRespawning()) {
-      return false;
-    }
-
     //TODO if enough time and points are low just reset and bank...
 
-    Item food = Items.FOOD.apply(Inventories.backpack().query()).first();
+    Item food = ItemClassifier.first(inventories.backpack(), ItemCategory.FOOD);
     if (food != null) {
       return false;
     }
 
-    if (Constant.WAITING_AREA.contains(Players.self())) {
+    if (Constant.WAITING_AREA.contains(players.self())) {
       return true;
     }
 
-    //TODO Polarize this to select a tile from the area closest to the Gang defined in Config rather than random tile.
-    Movement.walkTowards(Constant.WAITING_AREA.getRandomTile());
+    Position tile = domain.getArena().getWaitingTile(domain.getState().getGang());
+    movement.walkTowards(tile != null ? tile : Constant.WAITING_AREA.getRandomTile());
     return true;
   }
 }
@@ -3,15 +3,17 @@ package org.rspeer.scripts.wintertodt.task.game.brazier;
 import com.google.inject.Inject;
 import org.rspeer.game.adapter.scene.Player;
 import org.rspeer.game.adapter.scene.SceneObject;
-import org.rspeer.game.movement.Movement;
-import org.rspeer.game.position.Position;
-import org.rspeer.game.scene.Players;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.api.gateway.MovementGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
 import org.rspeer.scripts.wintertodt.data.Action;
+import org.rspeer.scripts.wintertodt.data.Allocation;
 import org.rspeer.scripts.wintertodt.data.Gang;
+import org.rspeer.scripts.wintertodt.domain.Arena;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 import org.rspeer.scripts.wintertodt.task.game.ActionTask;
+import org.rspeer.scripts.wintertodt.task.game.AllocationPlanner;
 
 @TaskDescriptor(
     name = "Lighting the brazier!",
@@ -20,36 +22,44 @@ import org.rspeer.scripts.wintertodt.task.game.ActionTask;
 )
 public class LightBrazierTask extends ActionTask {
 
+  private final AllocationPlanner planner;
+  private final PlayerGateway players;
+  private final MovementGateway movement;
+
   @Inject
-  public LightBrazierTask(Domain domain) {
-    super(domain, Action.LIGHT);
+  public LightBrazierTask(Domain domain, TaskDispatcher dispatcher, AllocationPlanner planner,
+                          PlayerGateway players, MovementGateway movement) {
+    super(domain, dispatcher, Action.LIGHT);
+    this.planner = planner;
+    this.players = players;
+    this.movement = movement;
   }
 
   @Override
   protected boolean play() {
-    Player self = Players.self();
+    Player self = players.self();
     if (self == null) {
       return false;
     }
 
     Gang gang = domain.getState().getGang();
-    if (isSpawning(gang.getStep())) {
+    if (isSpawning(domain.getBoss().getRespawnTimer(), getLightTicks(gang, self))) {
       //Walk to the brazier as the game is starting
       if (self.isMoving() || gang.getBrazier().distance() <= 2) {
         return false;
       }
 
-      Movement.walkTowards(gang.getStep());
+      movement.walkTowards(gang.getStep());
       return true;
     }
 
     //TODO the above code will walk there but not light due to the below condition
     //need to fix it to light at the start of every game
-    if (domain.getState().shouldChop() && domain.getBoss().getEnergy() < 99) {
+    if (!shouldLight(planner.decide(), domain.getBoss().getEnergy())) {
       return false;
     }
 
-    SceneObject object = Province.findBrazier(gang.getBrazier(), "Light");
+    SceneObject object = domain.getWorld().findBrazier(gang.getBrazier(), "Light");
     if (object != null) {
       if (object.distance() <= 2 && action.isActive(domain)) {
         return true;
@@ -61,15 +71,27 @@ public class LightBrazierTask extends ActionTask {
     return false;
   }
 
-  private boolean isSpawning(Position brazier) {
-    int lightTicks = getLightTicks(brazier);
-    int spawnTicks = domain.getBoss().getRespawnTimer();
-    return spawnTicks >= lightTicks;
+  /**
+   * @return Whether the game starts no sooner than the brazier could be reached and lit, so it's time to walk there
+   */
+  public static boolean isSpawning(int respawnTimer, int lightTicks) {
+    return respawnTimer >= lightTicks;
+  }
+
+  /**
+   * @return Whether an unlit brazier is worth lighting, rather than chopping while someone else lights it
+   */
+  public static boolean shouldLight(Allocation allocation, int energy) {
+    return allocation != Allocation.CHOP || energy >= 99;
   }
 
-  private int getLightTicks(Position brazier) {
-    //Running 2 tiles is a 1 tick action (or walking 1 tile)
+  private int getLightTicks(Gang gang, Player self) {
     //To calculate ticks needed to light, we do movement ticks + light action ticks
-    return (int) (brazier.distance() / 2) + action.getDuration();
+    int ticks = domain.getArena().ticksTo(gang, Arena.Target.BRAZIER, self.getPosition(), movement.isRunEnabled());
+    if (ticks == -1) {
+      //Running 2 tiles is a 1 tick action (or walking 1 tile)
+      ticks = (int) (gang.getBrazier().distance() / 2);
+    }
+    return ticks + action.getDuration();
   }
 }
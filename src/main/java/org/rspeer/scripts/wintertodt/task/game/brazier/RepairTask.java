@@ -3,33 +3,44 @@ package org.rspeer.scripts.wintertodt.task.game.brazier;
 import com.google.inject.Inject;
 import org.rspeer.game.adapter.scene.Player;
 import org.rspeer.game.adapter.scene.SceneObject;
-import org.rspeer.game.scene.Players;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
 import org.rspeer.scripts.wintertodt.data.Action;
+import org.rspeer.scripts.wintertodt.data.Allocation;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 import org.rspeer.scripts.wintertodt.task.game.ActionTask;
+import org.rspeer.scripts.wintertodt.task.game.AllocationPlanner;
 
+@Phases(Phase.ACTIVE)
 @TaskDescriptor(name = "Bob the builder can we fix it? Yes we can.")
 public class RepairTask extends ActionTask {
 
+  private final AllocationPlanner planner;
+  private final PlayerGateway players;
+
   @Inject
-  public RepairTask(Domain domain) {
-    super(domain, Action.REPAIR);
+  public RepairTask(Domain domain, TaskDispatcher dispatcher, AllocationPlanner planner,
+                    PlayerGateway players) {
+    super(domain, dispatcher, Action.REPAIR);
+    this.planner = planner;
+    this.players = players;
   }
 
   @Override
   protected boolean play() {
-    if (domain.getBoss().isRespawning() || domain.getState().shouldChop()) {
+    if (planner.decide() == Allocation.CHOP) {
       return false;
     }
 
-    Player self = Players.self();
+    Player self = players.self();
     if (self == null || self.isAnimating()) {
       return false;
     }
 
-    SceneObject brazier = Province.findBrazier(domain.getState().getGang().getBrazier(), "Fix");
+    SceneObject brazier = domain.getWorld().findBrazier(domain.getState().getGang().getBrazier(), "Fix");
     if (brazier == null) {
       return false;
     }
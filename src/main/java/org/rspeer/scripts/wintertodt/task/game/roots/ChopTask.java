@@ -3,46 +3,67 @@ package org.rspeer.scripts.wintertodt.task.game.roots;
 import com.google.inject.Inject;
 import org.rspeer.game.adapter.scene.Player;
 import org.rspeer.game.adapter.scene.SceneObject;
-import org.rspeer.game.combat.Combat;
-import org.rspeer.game.scene.Players;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.api.gateway.CombatGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
 import org.rspeer.scripts.wintertodt.data.Action;
+import org.rspeer.scripts.wintertodt.data.Allocation;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.ActionQueue;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 import org.rspeer.scripts.wintertodt.task.game.ActionTask;
+import org.rspeer.scripts.wintertodt.task.game.AllocationPlanner;
 
+@Phases(Phase.ACTIVE)
 @TaskDescriptor(name = "Chop chop")
 public class ChopTask extends ActionTask {
 
+  private final PlayerGateway players;
+  private final CombatGateway combat;
+  private final ActionQueue actions;
+  private final AllocationPlanner planner;
+
   @Inject
-  public ChopTask(Domain domain) {
-    super(domain, Action.CHOP);
+  public ChopTask(Domain domain, TaskDispatcher dispatcher, PlayerGateway players,
+                  CombatGateway combat, ActionQueue actions, AllocationPlanner planner) {
+    super(domain, dispatcher, Action.CHOP);
+    this.players = players;
+    this.combat = combat;
+    this.actions = actions;
+    this.planner = planner;
   }
 
   @Override
   protected boolean play() {
-    if (domain.getBoss().isRespawning() || !domain.getState().shouldChop()) {
+    if (planner.decide() != Allocation.CHOP) {
       return false;
     }
 
-    Player self = Players.self();
+    Player self = players.self();
     if (self == null || self.isAnimating()) {
       return false;
     }
 
-    SceneObject root = Province.findRoots(domain.getState().getGang().getRoots());
+    //Still walking to the roots from the last click, clicking again would only resend it
+    if (self.isMoving()) {
+      return true;
+    }
+
+    SceneObject root = domain.getWorld().findRoots(domain.getState().getGang().getRoots());
     if (root == null) {
       return false;
     }
 
-    if (!Combat.isSpecialActive()
-        && Combat.getSpecialEnergy() == 100
-        && Combat.isSpecialBarPresent()
+    if (!combat.isSpecialActive()
+        && combat.getSpecialEnergy() == 100
+        && combat.isSpecialBarPresent()
         && root.distance(self) < 3) {
-      Combat.toggleSpecial(true);
+      combat.toggleSpecial(true);
     }
 
-    root.interact("Chop");
+    actions.submit(this, root, "Chop");
     return true;
   }
 }
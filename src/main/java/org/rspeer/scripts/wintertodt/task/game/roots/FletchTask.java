@@ -2,17 +2,19 @@ package org.rspeer.scripts.wintertodt.task.game.roots;
 
 import com.google.inject.Inject;
 import org.rspeer.game.adapter.scene.Player;
-import org.rspeer.game.component.Inventories;
 import org.rspeer.game.component.Item;
-import org.rspeer.game.component.tdi.Tab;
-import org.rspeer.game.component.tdi.Tabs;
-import org.rspeer.game.scene.Players;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Items;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
 import org.rspeer.scripts.wintertodt.data.*;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 import org.rspeer.scripts.wintertodt.task.game.ActionTask;
+import org.rspeer.scripts.wintertodt.task.game.AllocationPlanner;
 
+@Phases(Phase.ACTIVE)
 @TaskDescriptor(
     name = "Y Fletch",
     priority = 10,
@@ -21,35 +23,34 @@ import org.rspeer.scripts.wintertodt.task.game.ActionTask;
 )
 public class FletchTask extends ActionTask {
 
+  private final AllocationPlanner planner;
+  private final PlayerGateway players;
+  private final InventoryGateway inventories;
+
   @Inject
-  public FletchTask(Domain domain) {
-    super(domain, Action.FLETCH);
+  public FletchTask(Domain domain, TaskDispatcher dispatcher, AllocationPlanner planner,
+                    PlayerGateway players, InventoryGateway inventories) {
+    super(domain, dispatcher, Action.FLETCH);
+    this.planner = planner;
+    this.players = players;
+    this.inventories = inventories;
   }
 
   @Override
   protected boolean play() {
     //TODO fletch 1 log while moving between the logs and brazier, even if fletching is disabled because it's lossless?
-    if (!domain.getConfig().isFletch()
-        || domain.getBoss().isRespawning()
-        || domain.getState().shouldChop()) {
-      return false;
-    }
-
-    Player self = Players.self();
-    if (self == null || isInsufficientStoredPoints()) {
+    if (!domain.getConfig().isFletch() || planner.decide() != Allocation.FLETCH) {
       return false;
     }
 
-    //Only start fletching while moving
-    if (!self.isMoving() && domain.getState().getGang().getBrazier().distance() > 2) {
+    Player self = players.self();
+    if (self == null) {
       return false;
     }
 
-    Item root = Inventories.backpack().query()
-        .nameContains(Constant.ROOT)
-        .results()
-        .first();
-    if (root == null) {
+    Item root = ItemClassifier.first(inventories.backpack(), ItemCategory.ROOT);
+    Item knife = ItemClassifier.first(inventories.backpack(), ItemCategory.KNIFE);
+    if (root == null || knife == null) {
       return false;
     }
 
@@ -57,21 +58,16 @@ public class FletchTask extends ActionTask {
       return true;
     }
 
-    if (!Tabs.isOpen(Tab.INVENTORY)) {
-      Tabs.open(Tab.INVENTORY);
+    if (!inventories.isBackpackOpen()) {
+      inventories.openBackpack();
     }
 
-    Inventories.backpack().use(
-        iq -> iq.names(WintertodtItem.KNIFE.getName()).results().first(),
-        root
-    );
-    sleepUntil(() -> action.isActive(domain), action.getDuration());
+    inventories.backpack().use(iq -> knife, root);
+    sleepUntil(() -> {
+      //Events are only applied on this thread, so keep draining while we wait on them
+      domain.drain();
+      return action.isActive(domain);
+    }, action.getDuration());
     return true;
   }
-
-  private boolean isInsufficientStoredPoints() {
-    int points = domain.getBoss().getPoints();
-    int forNextThreshold = Constant.POINTS_THRESHOLD - (points % Constant.POINTS_THRESHOLD);
-    return points >= forNextThreshold - Items.getStoredRootPoints(Inventories.backpack());
-  }
 }
@@ -1,42 +1,55 @@
 package org.rspeer.scripts.wintertodt.task.generic;
 
 import com.google.inject.Inject;
-import org.rspeer.game.component.Inventories;
-import org.rspeer.game.component.tdi.Tab;
-import org.rspeer.game.component.tdi.Tabs;
-import org.rspeer.game.query.results.ItemQueryResults;
+import org.rspeer.game.component.Item;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Items;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.ActionQueue;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+import java.util.List;
+
+@Phases({Phase.PREPARE, Phase.RESPAWNING})
 @TaskDescriptor(name = "Dropping")
 public class DropJunkTask extends Task {
 
   private final Domain domain;
+  private final TaskDispatcher dispatcher;
+  private final ActionQueue actions;
+  private final InventoryGateway inventories;
 
   @Inject
-  public DropJunkTask(Domain domain) {
+  public DropJunkTask(Domain domain, TaskDispatcher dispatcher, ActionQueue actions, InventoryGateway inventories) {
     this.domain = domain;
+    this.dispatcher = dispatcher;
+    this.actions = actions;
+    this.inventories = inventories;
   }
 
   @Override
   public boolean execute() {
-    if (Province.isInGame() && !domain.getBoss().isRespawning()) {
+    if (!dispatcher.isScheduled(this)) {
       return false;
     }
 
-    ItemQueryResults junk = Items.JUNK.apply(Inventories.backpack().query());
+    List<Item> junk = ItemClassifier.all(inventories.backpack(), ItemCategory.JUNK);
     if (junk.isEmpty()) {
+      actions.release(this);
       return false;
     }
 
-    if (!Tabs.isOpen(Tab.INVENTORY)) {
-      Tabs.open(Tab.INVENTORY);
+    if (!inventories.isBackpackOpen()) {
+      inventories.openBackpack();
     }
 
-    junk.forEach(item -> item.interact("Drop"));
+    actions.submitAll(this, junk, "Drop");
+    domain.getInventory().invalidate();
     return true;
   }
 }
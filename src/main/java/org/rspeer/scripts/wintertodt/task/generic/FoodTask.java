@@ -1,51 +1,78 @@
 package org.rspeer.scripts.wintertodt.task.generic;
 
 import com.google.inject.Inject;
-import org.rspeer.game.component.Inventories;
 import org.rspeer.game.component.Item;
-import org.rspeer.game.component.tdi.Tab;
-import org.rspeer.game.component.tdi.Tabs;
-import org.rspeer.game.effect.Health;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
 import org.rspeer.scripts.wintertodt.api.*;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.VarGateway;
 import org.rspeer.scripts.wintertodt.data.Constant;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.DependsOn;
+import org.rspeer.scripts.wintertodt.task.Fact;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+import java.util.function.BooleanSupplier;
+
+@DependsOn({Fact.WARMTH, Fact.FOOD, Fact.PHASE})
 @TaskDescriptor(name = "Eating", priority = 300)
 public class FoodTask extends Task {
 
   private final Domain domain;
+  private final TaskDispatcher dispatcher;
+  private final InventoryGateway inventories;
+  private final VarGateway vars;
+
+  private final BooleanSupplier guard = this::eat;
 
   private int tolerance = Constant.EAT_FOOD_AT.random();
 
   @Inject
-  public FoodTask(Domain domain) {
+  public FoodTask(Domain domain, TaskDispatcher dispatcher, InventoryGateway inventories, VarGateway vars) {
     this.domain = domain;
+    this.dispatcher = dispatcher;
+    this.inventories = inventories;
+    this.vars = vars;
   }
 
   @Override
   public boolean execute() {
-    Item food = Items.FOOD.apply(Inventories.backpack().query()).first();
+    return dispatcher.evaluate(this, guard);
+  }
+
+  private boolean eat() {
+    Item food = ItemClassifier.first(inventories.backpack(), ItemCategory.FOOD);
     if (food == null || !shouldEat()) {
       return false;
     }
 
-    if (!Tabs.isOpen(Tab.INVENTORY)) {
-      Tabs.open(Tab.INVENTORY);
+    if (!inventories.isBackpackOpen()) {
+      inventories.openBackpack();
     }
 
     food.interact(x -> true);
+    domain.getInventory().invalidate();
     tolerance = Constant.EAT_FOOD_AT.random();
     sleep(2);
     return true;
   }
 
   private boolean shouldEat() {
-    if (!Province.isInGame() || domain.getBoss().isRespawning()) {
-      return Warmth.getPercent() < 70;
+    return shouldEat(dispatcher.getPhase(), Warmth.getPercent(vars), tolerance);
+  }
+
+  /**
+   * @param warmth    The warmth percentage
+   * @param tolerance The warmth percentage to eat at during a game
+   */
+  public static boolean shouldEat(Phase phase, int warmth, int tolerance) {
+    if (phase != Phase.ACTIVE) {
+      return warmth < 70;
     }
 
-    return Warmth.getPercent() <= tolerance;
+    return warmth <= tolerance;
   }
 }
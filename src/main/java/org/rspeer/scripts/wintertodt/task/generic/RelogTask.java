@@ -1,14 +1,17 @@
 package org.rspeer.scripts.wintertodt.task.generic;
 
 import com.google.inject.Inject;
-import org.rspeer.game.adapter.component.inventory.Bank;
 import org.rspeer.game.component.Interfaces;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
 import org.rspeer.scripts.wintertodt.api.XGame;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+@Phases({Phase.PREPARE, Phase.RESPAWNING})
 @TaskDescriptor(
     name = "Relogging",
     blocking = true,
@@ -17,10 +20,14 @@ import org.rspeer.scripts.wintertodt.domain.Domain;
 public class RelogTask extends Task {
 
   private final Domain domain;
+  private final TaskDispatcher dispatcher;
+  private final InventoryGateway inventories;
 
   @Inject
-  public RelogTask(Domain domain) {
+  public RelogTask(Domain domain, TaskDispatcher dispatcher, InventoryGateway inventories) {
     this.domain = domain;
+    this.dispatcher = dispatcher;
+    this.inventories = inventories;
   }
 
   @Override
@@ -29,11 +36,11 @@ public class RelogTask extends Task {
       return false;
     }
 
-    if (Province.isInGame() && !domain.getBoss().isRespawning()) {
+    if (!dispatcher.isScheduled(this)) {
       return false;
     }
 
-    if (Bank.isOpen()) {
+    if (inventories.isBankOpen()) {
       Interfaces.closeSubs();
       return true;
     }
@@ -1,22 +1,43 @@
 package org.rspeer.scripts.wintertodt.task.generic;
 
-import org.rspeer.game.movement.Movement;
+import com.google.inject.Inject;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
+import org.rspeer.scripts.wintertodt.api.gateway.MovementGateway;
 import org.rspeer.scripts.wintertodt.data.Constant;
+import org.rspeer.scripts.wintertodt.task.DependsOn;
+import org.rspeer.scripts.wintertodt.task.Fact;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+import java.util.function.BooleanSupplier;
+
+@DependsOn(Fact.RUN_ENERGY)
 @TaskDescriptor(name = "Toggling run")
 public class RunTask extends Task {
 
+  private final TaskDispatcher dispatcher;
+  private final MovementGateway movement;
+  private final BooleanSupplier guard = this::toggle;
+
   private int tolerance = Constant.TOGGLE_RUN_AT.random();
 
+  @Inject
+  public RunTask(TaskDispatcher dispatcher, MovementGateway movement) {
+    this.dispatcher = dispatcher;
+    this.movement = movement;
+  }
+
   @Override
   public boolean execute() {
-    if (Movement.isRunEnabled() || Movement.getRunEnergy() < tolerance) {
+    return dispatcher.evaluate(this, guard);
+  }
+
+  private boolean toggle() {
+    if (movement.isRunEnabled() || movement.getRunEnergy() < tolerance) {
       return false;
     }
 
-    Movement.toggleRun(true);
+    movement.toggleRun(true);
     tolerance = Constant.TOGGLE_RUN_AT.random();
     return true;
   }
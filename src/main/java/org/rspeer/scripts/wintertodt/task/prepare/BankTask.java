@@ -1,21 +1,24 @@
 package org.rspeer.scripts.wintertodt.task.prepare;
 
 import com.google.inject.Inject;
-import org.rspeer.game.Definitions;
-import org.rspeer.game.House;
-import org.rspeer.game.adapter.component.inventory.Bank;
-import org.rspeer.game.adapter.component.inventory.Inventory;
-import org.rspeer.game.adapter.definition.ItemDefinition;
-import org.rspeer.game.component.Inventories;
 import org.rspeer.game.component.Item;
-import org.rspeer.game.config.item.entry.builder.ItemEntryBuilder;
 import org.rspeer.game.config.item.loadout.BackpackLoadout;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
-import org.rspeer.scripts.wintertodt.data.WintertodtItem;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.domain.Readiness;
 import org.rspeer.scripts.wintertodt.domain.config.Config;
+import org.rspeer.scripts.wintertodt.task.ActionQueue;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Phases(Phase.PREPARE)
 @TaskDescriptor(
     name = "Banking!",
     blocking = true,
@@ -24,76 +27,58 @@ import org.rspeer.scripts.wintertodt.domain.config.Config;
 )
 public class BankTask extends Task {
 
+  private final Domain domain;
   private final Config config;
+  private final TaskDispatcher dispatcher;
+  private final Readiness readiness;
+  private final WithdrawPlan plan;
+  private final ActionQueue actions;
+  private final PlayerGateway players;
+  private final InventoryGateway inventories;
 
   @Inject
-  public BankTask(Config config) {
+  public BankTask(Domain domain, Config config, TaskDispatcher dispatcher, Readiness readiness,
+                  WithdrawPlan plan, ActionQueue actions, PlayerGateway players, InventoryGateway inventories) {
+    this.domain = domain;
     this.config = config;
-  }
-
-  private static Item getAxe(Inventory inv) {
-    return inv.query().nameContains(" axe").results().first();
+    this.dispatcher = dispatcher;
+    this.readiness = readiness;
+    this.plan = plan;
+    this.actions = actions;
+    this.players = players;
+    this.inventories = inventories;
   }
 
   @Override
   public boolean execute() {
-    if (Province.isInGame() || config.isReady()) {
+    if (!dispatcher.isScheduled(this)) {
       return false;
     }
 
-    if (House.isInside()) {
+    if (readiness.isReady() || players.isInHouse()) {
+      actions.release(this);
       return false;
     }
 
-    if (!Bank.isOpen()) {
+    if (!inventories.isBankOpen()) {
       if (config.isOpenCrates()) {
-        Inventories.backpack().getItems("Supply crate").limit(9).forEach(x -> x.interact("Open"));
-      }
-
-      Bank.open();
-      return true;
-    }
-
-    BackpackLoadout loadout = new BackpackLoadout("todt");
-    for (WintertodtItem item : WintertodtItem.values()) {
-      if (item.isRequired(config)) {
-        loadout.add(new ItemEntryBuilder()
-            .key(item.getName())
-            .quantity(1)
-            .build());
-      }
-    }
-
-    //gross
-    if (getAxe(Inventories.equipment()) == null) {
-      Item bagged = getAxe(Inventories.backpack());
-      if (bagged != null) {
-        loadout.add(new ItemEntryBuilder()
-            .key(bagged.getName())
-            .quantity(1)
-            .build());
-      } else {
-        //TODO get best axe if this happens
-        Item banked = getAxe(Inventories.bank());
-        if (banked != null) {
-          loadout.add(new ItemEntryBuilder()
-              .key(banked.getName())
-              .quantity(1)
-              .build());
+        List<Item> crates = inventories.backpack().getItems("Supply crate").collect(Collectors.toList());
+        if (!crates.isEmpty()) {
+          //Crates are opened over as many ticks as the click budget needs, the bank is only opened once they're done
+          actions.submitAll(this, crates, "Open");
+          domain.getInventory().invalidate();
+          return true;
         }
       }
-    }
 
-    ItemDefinition definition = Definitions.getItem(config.getFoodId());
-    if (definition != null) {
-      loadout.add(new ItemEntryBuilder()
-          .key(definition.getName())
-          .quantity(config.getFoodAmount())
-          .build());
+      inventories.openBank();
+      return true;
     }
 
-    if (!loadout.isBagged()) {
-      loadout.withdraw(Inventories.bank());
+    BackpackLoadout loadout = plan.next();
+    if (loadout != null) {
+      loadout.withdraw(inventories.bank());
+      domain.getInventory().invalidate();
     }
 
     return true;
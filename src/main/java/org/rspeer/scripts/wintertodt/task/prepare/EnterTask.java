@@ -1,20 +1,34 @@
 package org.rspeer.scripts.wintertodt.task.prepare;
 
+import com.google.inject.Inject;
 import org.rspeer.game.adapter.scene.SceneObject;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+@Phases(Phase.PREPARE)
 @TaskDescriptor(name = "Starting a game!")
 public class EnterTask extends Task {
 
+  private final Domain domain;
+  private final TaskDispatcher dispatcher;
+
+  @Inject
+  public EnterTask(Domain domain, TaskDispatcher dispatcher) {
+    this.domain = domain;
+    this.dispatcher = dispatcher;
+  }
+
   @Override
   public boolean execute() {
-    if (Province.isInGame()) {
+    if (!dispatcher.isScheduled(this)) {
       return false;
     }
 
-    SceneObject door = Province.findDoor();
+    SceneObject door = domain.getWorld().findDoor();
     return door != null && door.interact("Enter");
   }
 }
@@ -5,9 +5,13 @@ import org.rspeer.game.adapter.scene.SceneObject;
 import org.rspeer.game.component.Dialog;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.data.Phase;
 import org.rspeer.scripts.wintertodt.domain.Domain;
+import org.rspeer.scripts.wintertodt.domain.Readiness;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+@Phases(Phase.RESPAWNING)
 @TaskDescriptor(
     name = "Exiting the wintertodt area!",
     blocking = true,
@@ -17,15 +21,19 @@ import org.rspeer.scripts.wintertodt.domain.Domain;
 public class ExitTask extends Task {
 
   private final Domain domain;
+  private final TaskDispatcher dispatcher;
+  private final Readiness readiness;
 
   @Inject
-  public ExitTask(Domain domain) {
+  public ExitTask(Domain domain, TaskDispatcher dispatcher, Readiness readiness) {
     this.domain = domain;
+    this.dispatcher = dispatcher;
+    this.readiness = readiness;
   }
 
   @Override
   public boolean execute() {
-    if (!Province.isInGame() || !domain.getBoss().isRespawning() || domain.getConfig().isReady()) {
+    if (!dispatcher.isScheduled(this) || readiness.isReady()) {
       return false;
     }
 
@@ -33,7 +41,7 @@ public class ExitTask extends Task {
       return Dialog.process(0);
     }
 
-    SceneObject door = Province.findDoor();
+    SceneObject door = domain.getWorld().findDoor();
     return door != null && door.interact("Enter");
   }
 }
@@ -1,15 +1,18 @@
 package org.rspeer.scripts.wintertodt.task.prepare;
 
 import com.google.inject.Inject;
-import org.rspeer.game.House;
-import org.rspeer.game.component.Inventories;
+import org.rspeer.game.adapter.scene.SceneObject;
 import org.rspeer.game.component.Item;
-import org.rspeer.game.effect.Health;
-import org.rspeer.game.scene.SceneObjects;
 import org.rspeer.game.script.Task;
 import org.rspeer.game.script.TaskDescriptor;
-import org.rspeer.scripts.wintertodt.api.Province;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.PlayerGateway;
+import org.rspeer.scripts.wintertodt.api.gateway.SceneGateway;
+import org.rspeer.scripts.wintertodt.data.Phase;
+import org.rspeer.scripts.wintertodt.task.Phases;
+import org.rspeer.scripts.wintertodt.task.TaskDispatcher;
 
+@Phases({Phase.PREPARE, Phase.RESPAWNING})
 @TaskDescriptor(
     name = "Pooling!",
     blocking = true,
@@ -18,34 +21,40 @@ import org.rspeer.scripts.wintertodt.api.Province;
 )
 public class PoolTask extends Task {
 
-  private final Boss boss;
+  private final TaskDispatcher dispatcher;
+  private final PlayerGateway players;
+  private final InventoryGateway inventories;
+  private final SceneGateway scene;
 
   @Inject
-  public PoolTask(Boss boss) {
-    this.boss = boss;
+  public PoolTask(TaskDispatcher dispatcher, PlayerGateway players, InventoryGateway inventories, SceneGateway scene) {
+    this.dispatcher = dispatcher;
+    this.players = players;
+    this.inventories = inventories;
+    this.scene = scene;
   }
 
   @Override
   public boolean execute() {
-    if ((Province.isInGame() && !boss.isRespawning())) {
+    if (!dispatcher.isScheduled(this)) {
       return false;
     }
 
-    if (House.isInside() && Health.getPercent() >= 100) {
-      SceneObjects.query()
-          .nameContains("Jewellery box")
-          .results()
-          .limit(1)
-          .forEach(x -> x.interact("Wintertodt Camp"));
+    boolean inHouse = players.isInHouse();
+    if (inHouse && players.getHealthPercent() >= 100) {
+      SceneObject box = scene.findJewelleryBox();
+      if (box != null) {
+        box.interact("Wintertodt Camp");
+      }
       return true;
     }
 
-    if (Health.getPercent() >= 100) {
+    if (players.getHealthPercent() >= 100) {
       return false;
     }
 
-    if (!House.isInside()) {
-      Item cape = Inventories.equipment().query()
+    if (!inHouse) {
+      Item cape = inventories.equipment().query()
           .nameContains("Max cape", "Construction cape")
           .results()
           .first();
@@ -57,11 +66,10 @@ public class PoolTask extends Task {
       return true;
     }
 
-    SceneObjects.query()
-        .nameContains("pool of rejuv")
-        .results()
-        .limit(1)
-        .forEach(x -> x.interact("Drink"));
+    SceneObject pool = scene.findRejuvenationPool();
+    if (pool != null) {
+      pool.interact("Drink");
+    }
     return true;
   }
 }
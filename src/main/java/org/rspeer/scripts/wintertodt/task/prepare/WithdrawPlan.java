@@ -0,0 +1,104 @@
+package org.rspeer.scripts.wintertodt.task.prepare;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.rspeer.game.Definitions;
+import org.rspeer.game.adapter.definition.ItemDefinition;
+import org.rspeer.game.component.Item;
+import org.rspeer.game.config.item.entry.builder.ItemEntryBuilder;
+import org.rspeer.game.config.item.loadout.BackpackLoadout;
+import org.rspeer.scripts.wintertodt.api.ItemClassifier;
+import org.rspeer.scripts.wintertodt.api.gateway.InventoryGateway;
+import org.rspeer.scripts.wintertodt.data.ItemCategory;
+import org.rspeer.scripts.wintertodt.data.Requirement;
+import org.rspeer.scripts.wintertodt.data.WintertodtItem;
+import org.rspeer.scripts.wintertodt.domain.Readiness;
+import org.rspeer.scripts.wintertodt.domain.config.Config;
+
+import java.util.List;
+
+/**
+ * The backpack loadout for a game, compiled once per config and reused on every bank visit.
+ * A visit only withdraws when {@link Readiness} reports something missing, and the loadout then
+ * withdraws everything that is missing in a single pass.
+ */
+@Singleton
+public class WithdrawPlan {
+
+  private final Config config;
+  private final Readiness readiness;
+  private final InventoryGateway inventories;
+
+  private BackpackLoadout loadout;
+  private int signature;
+  private String axe;
+
+  @Inject
+  public WithdrawPlan(Config config, Readiness readiness, InventoryGateway inventories) {
+    this.config = config;
+    this.readiness = readiness;
+    this.inventories = inventories;
+  }
+
+  /**
+   * @return The loadout to withdraw, or null if nothing required is missing
+   */
+  public BackpackLoadout next() {
+    List<Requirement> missing = readiness.missingItems();
+    if (missing.isEmpty()) {
+      return null;
+    }
+
+    int signature = getSignature();
+    if (loadout == null || signature != this.signature || (axe == null && missing.contains(Requirement.AXE))) {
+      compile();
+      this.signature = signature;
+    }
+
+    return loadout;
+  }
+
+  private int getSignature() {
+    int signature = Boolean.hashCode(config.isFletch());
+    signature = 31 * signature + config.getFoodId();
+    return 31 * signature + config.getFoodAmount();
+  }
+
+  private void compile() {
+    BackpackLoadout loadout = new BackpackLoadout("todt");
+    for (WintertodtItem item : WintertodtItem.values()) {
+      if (item.isRequired(config)) {
+        add(loadout, item.getName(), 1);
+      }
+    }
+
+    //An equipped axe doesn't need to be in the loadout, otherwise keep the one we have or take one from the bank
+    axe = null;
+    if (ItemClassifier.first(inventories.equipment(), ItemCategory.AXE) == null) {
+      Item axe = ItemClassifier.first(inventories.backpack(), ItemCategory.AXE);
+      if (axe == null) {
+        //TODO get best axe if this happens
+        axe = ItemClassifier.first(inventories.bank(), ItemCategory.AXE);
+      }
+
+      if (axe != null) {
+        this.axe = axe.getName();
+        add(loadout, this.axe, 1);
+      }
+    }
+
+    ItemDefinition definition = Definitions.getItem(config.getFoodId());
+    if (definition != null) {
+      add(loadout, definition.getName(), config.getFoodAmount());
+    }
+
+    this.loadout = loadout;
+  }
+
+  private static void add(BackpackLoadout loadout, String name, int quantity) {
+    loadout.add(new ItemEntryBuilder()
+        .key(name)
+        .quantity(quantity)
+        .build());
+  }
+}